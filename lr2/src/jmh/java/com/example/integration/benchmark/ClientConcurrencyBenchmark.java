@@ -0,0 +1,70 @@
+package com.example.integration.benchmark;
+
+import com.example.integration.concurrency.VirtualThreads;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class ClientConcurrencyBenchmark {
+    
+    @State(Scope.Benchmark)
+    public static class Clients {
+        
+        @Param("10000")
+        public int clients;
+        
+        @Param("200")
+        public int platformThreads;
+        
+        private ExecutorService executor;
+        
+        @Setup
+        public void start(SeededDatabase database) {
+            executor = database.virtualThreads && VirtualThreads.isSupported()
+                ? VirtualThreads.newThreadPerTaskExecutor("client-")
+                : Executors.newFixedThreadPool(platformThreads);
+        }
+        
+        @TearDown
+        public void stop() {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Benchmark
+    public int serveConcurrentClients(SeededDatabase database, Clients clients) throws Exception {
+        List<Callable<Boolean>> requests = new ArrayList<>(clients.clients);
+        for (int i = 0; i < clients.clients; i++) {
+            String username = database.username(database.randomIndex());
+            requests.add(() -> database.userService.findUserDetails(username).isPresent());
+        }
+        int found = 0;
+        for (Future<Boolean> response : clients.executor.invokeAll(requests)) {
+            try {
+                found += response.get() ? 1 : 0;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Client request failed", e.getCause());
+            }
+        }
+        return found;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.example.integration.benchmark;
+
+import com.example.integration.entity.Profile;
+import com.example.integration.entity.Settings;
+import com.example.integration.service.UpdateConflictException;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Control;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+@Threads(16)
+public class ContendedUpdateBenchmark {
+    
+    @State(Scope.Benchmark)
+    public static class HotUsers {
+        
+        @Param("4")
+        public int hotUsers;
+        
+        private long[] userIds;
+        
+        @Setup
+        public void pick(SeededDatabase database) {
+            userIds = new long[hotUsers];
+            for (int i = 0; i < hotUsers; i++) {
+                userIds[i] = database.randomUserId();
+            }
+        }
+        
+        long next() {
+            return userIds[ThreadLocalRandom.current().nextInt(userIds.length)];
+        }
+    }
+    
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcomes {
+        public long updated;
+        public long conflicts;
+        
+        @Setup(Level.Iteration)
+        public void reset() {
+            updated = 0;
+            conflicts = 0;
+        }
+        
+        void attempt(Control control, long userId, LongConsumer update) {
+            boolean measured = control.startMeasurement && !control.stopMeasurement;
+            try {
+                update.accept(userId);
+                if (measured) {
+                    updated++;
+                }
+            } catch (UpdateConflictException e) {
+                if (measured) {
+                    conflicts++;
+                }
+            }
+        }
+    }
+    
+    @Benchmark
+    public void updateProfileOfHotUser(SeededDatabase database, HotUsers users, Outcomes outcomes,
+                                       Control control) {
+        outcomes.attempt(control, users.next(), userId -> database.profileService.updateProfile(userId, Profile.builder()
+            .bio("Updated " + ThreadLocalRandom.current().nextInt(1000))
+            .build()));
+    }
+    
+    @Benchmark
+    public void updateAutoSaveOfHotUser(SeededDatabase database, HotUsers users, Outcomes outcomes,
+                                        Control control) {
+        outcomes.attempt(control, users.next(), userId -> {
+            Settings current = database.settingsService.getSettingsWithUserDetails(userId).orElseThrow();
+            database.settingsService.updateSettings(userId, current.toBuilder()
+                .autoSaveInterval(30 + ThreadLocalRandom.current().nextInt(270))
+                .build());
+        });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.example.integration.benchmark;
+
+import com.example.integration.entity.Profile;
+import com.example.integration.service.ProfileService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class ProfileServiceBenchmark {
+    
+    @Benchmark
+    public List<Profile> searchPublicProfiles(SeededDatabase database) {
+        return database.profileService.searchPublicProfiles("Last" + ThreadLocalRandom.current().nextInt(997));
+    }
+    
+    @Benchmark
+    public List<Profile> getProfilesByAge(SeededDatabase database) {
+        return database.profileService.getProfilesByAge(25, 35, PageRequest.of(0, 100));
+    }
+    
+    @Benchmark
+    public ProfileService.ProfileCompletionStats getProfileCompletionStats(SeededDatabase database) {
+        return database.profileService.getProfileCompletionStats(database.randomUserId());
+    }
+    
+    @Benchmark
+    public Profile updateProfile(SeededDatabase database) {
+        return database.profileService.updateProfile(database.randomUserId(), Profile.builder()
+            .bio("Updated " + ThreadLocalRandom.current().nextInt(1000))
+            .build());
+    }
+}
\ No newline at end of file
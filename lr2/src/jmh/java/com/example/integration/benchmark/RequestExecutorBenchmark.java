@@ -0,0 +1,70 @@
+package com.example.integration.benchmark;
+
+import com.example.integration.service.UserService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Control;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+@Threads(1000)
+public class RequestExecutorBenchmark {
+    
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcomes {
+        public long completed;
+        public long rejected;
+        
+        @Setup(Level.Iteration)
+        public void reset() {
+            completed = 0;
+            rejected = 0;
+        }
+        
+        void record(Control control, ResponseEntity<?> response) {
+            if (!control.startMeasurement || control.stopMeasurement) {
+                return;
+            }
+            if (response.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE) {
+                rejected++;
+            } else {
+                completed++;
+            }
+        }
+    }
+    
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public void findUserDetailsUnderOverload(SeededDatabase database, Outcomes outcomes, Control control) {
+        outcomes.record(control, findUserDetails(database));
+    }
+    
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public ResponseEntity<Optional<UserService.UserDetails>> findUserDetailsLatencyUnderOverload(
+            SeededDatabase database) {
+        return findUserDetails(database);
+    }
+    
+    private static ResponseEntity<Optional<UserService.UserDetails>> findUserDetails(SeededDatabase database) {
+        String username = database.username(database.randomIndex());
+        return database.asyncRequestExecutor
+            .submit(() -> ResponseEntity.ok(database.userService.findUserDetails(username)))
+            .join();
+    }
+}
\ No newline at end of file
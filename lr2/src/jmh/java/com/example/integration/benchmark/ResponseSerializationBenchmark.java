@@ -0,0 +1,61 @@
+package com.example.integration.benchmark;
+
+import com.example.integration.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class ResponseSerializationBenchmark {
+    
+    @State(Scope.Benchmark)
+    public static class Serializer {
+        
+        @Param({"dto", "entity"})
+        public String representation;
+        
+        private ObjectMapper objectMapper;
+        private UserRepository userRepository;
+        private TransactionTemplate readOnlyTransaction;
+        
+        @Setup
+        public void start(SeededDatabase database) {
+            objectMapper = database.context.getBean(ObjectMapper.class);
+            userRepository = database.context.getBean(UserRepository.class);
+            readOnlyTransaction = new TransactionTemplate(database.context.getBean(PlatformTransactionManager.class));
+            readOnlyTransaction.setReadOnly(true);
+        }
+    }
+    
+    @Benchmark
+    public byte[] serializeUserResponse(SeededDatabase database, Serializer serializer) {
+        String username = database.username(database.randomIndex());
+        if ("entity".equals(serializer.representation)) {
+            return serializer.readOnlyTransaction.execute(status -> write(serializer,
+                serializer.userRepository.findByUsernameOrEmail(username).orElseThrow()));
+        }
+        return write(serializer, database.userService.findUserDetails(username).orElseThrow());
+    }
+    
+    private static byte[] write(Serializer serializer, Object response) {
+        try {
+            return serializer.objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize response", e);
+        }
+    }
+}
\ No newline at end of file
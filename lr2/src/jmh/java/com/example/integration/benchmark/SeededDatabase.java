@@ -0,0 +1,153 @@
+package com.example.integration.benchmark;
+
+import com.example.integration.IntegrationTestingApplication;
+import com.example.integration.cache.UserDetailsCache;
+import com.example.integration.controller.AsyncRequestExecutor;
+import com.example.integration.entity.User;
+import com.example.integration.index.ProfileBirthDateIndex;
+import com.example.integration.index.ProfileNameIndex;
+import com.example.integration.index.TimeZoneIndex;
+import com.example.integration.index.UserIdentityFilter;
+import com.example.integration.service.ProfileService;
+import com.example.integration.service.SettingsService;
+import com.example.integration.service.UserService;
+import com.example.integration.statistics.StatisticsCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+public class SeededDatabase {
+    
+    private static final int SEED_CHUNK = 10_000;
+    private static final int INSERT_BATCH_SIZE = 50;
+    
+    private static final String SEED_PROFILES =
+        "UPDATE profiles SET " +
+        "first_name = CONCAT('First', MOD(user_id, 1000)), " +
+        "last_name = CONCAT('Last', MOD(user_id, 997)), " +
+        "is_public = MOD(user_id, 4) <> 0, " +
+        "birth_date = DATEADD('DAY', -MOD(user_id, 20000), DATE '2005-01-01'), " +
+        "location = CASE WHEN MOD(user_id, 2) = 0 THEN 'Berlin' END";
+    
+    private static final String SEED_SETTINGS =
+        "UPDATE settings SET " +
+        "theme = CASE MOD(user_id, 3) WHEN 0 THEN 'LIGHT' WHEN 1 THEN 'DARK' ELSE 'AUTO' END, " +
+        "time_zone = CASE MOD(user_id, 4) WHEN 0 THEN 'UTC' WHEN 1 THEN 'Europe/Berlin' " +
+        "WHEN 2 THEN 'America/New_York' ELSE 'Asia/Tokyo' END, " +
+        "email_notifications = MOD(user_id, 5) <> 0";
+    
+    @Param("10000")
+    public int rows;
+    
+    @Param("false")
+    public boolean virtualThreads;
+    
+    @Param("true")
+    public boolean nameIndex;
+    
+    @Param("true")
+    public boolean insertBatching;
+    
+    @Param("false")
+    public boolean writeBehind;
+    
+    @Param("true")
+    public boolean asyncRequests;
+    
+    ConfigurableApplicationContext context;
+    UserService userService;
+    ProfileService profileService;
+    SettingsService settingsService;
+    AsyncRequestExecutor asyncRequestExecutor;
+    
+    private long[] userIds;
+    private final AtomicLong sequence = new AtomicLong();
+    
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(IntegrationTestingApplication.class)
+            .web(WebApplicationType.NONE)
+            .profiles("benchmark")
+            .run(
+                "--app.concurrency.virtual-threads.enabled=" + virtualThreads,
+                "--app.profiles.name-index.enabled=" + nameIndex,
+                "--app.ids.allocation-size=" + (insertBatching ? INSERT_BATCH_SIZE : 1),
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + (insertBatching ? INSERT_BATCH_SIZE : 1),
+                "--app.settings.write-behind.enabled=" + writeBehind,
+                "--app.web.async.enabled=" + asyncRequests);
+        userService = context.getBean(UserService.class);
+        profileService = context.getBean(ProfileService.class);
+        settingsService = context.getBean(SettingsService.class);
+        asyncRequestExecutor = context.getBean(AsyncRequestExecutor.class);
+        seed();
+    }
+    
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+    
+    long randomUserId() {
+        return userIds[ThreadLocalRandom.current().nextInt(userIds.length)];
+    }
+    
+    int randomIndex() {
+        return ThreadLocalRandom.current().nextInt(rows);
+    }
+    
+    String username(int index) {
+        return "user" + index;
+    }
+    
+    User newUser() {
+        long next = sequence.incrementAndGet();
+        return User.builder()
+            .username("created" + next)
+            .email("created" + next + "@bench.example.com")
+            .password("password123")
+            .build();
+    }
+    
+    private void seed() {
+        for (int from = 0; from < rows; from += SEED_CHUNK) {
+            List<User> chunk = new ArrayList<>();
+            for (int i = from; i < Math.min(from + SEED_CHUNK, rows); i++) {
+                chunk.add(User.builder()
+                    .username(username(i))
+                    .email(username(i) + "@bench.example.com")
+                    .password("password123")
+                    .build());
+            }
+            userService.createUsersInBatch(chunk);
+        }
+        
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update(SEED_PROFILES);
+        jdbcTemplate.update(SEED_SETTINGS);
+        userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class).stream()
+            .mapToLong(Long::longValue)
+            .toArray();
+        
+        context.getBean(EntityManagerFactory.class).getCache().evictAll();
+        context.getBean(UserDetailsCache.class).invalidateAll();
+        context.getBean(UserIdentityFilter.class).rebuild();
+        context.getBean(ProfileNameIndex.class).rebuild();
+        context.getBean(ProfileBirthDateIndex.class).rebuild();
+        context.getBean(TimeZoneIndex.class).rebuild();
+        context.getBean(StatisticsCounters.class).reconcile();
+    }
+}
\ No newline at end of file
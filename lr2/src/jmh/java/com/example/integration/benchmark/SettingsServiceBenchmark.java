@@ -0,0 +1,31 @@
+package com.example.integration.benchmark;
+
+import com.example.integration.entity.Settings;
+import com.example.integration.service.SettingsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class SettingsServiceBenchmark {
+    
+    @Benchmark
+    public SettingsService.SettingsAnalytics getSettingsAnalytics(SeededDatabase database) {
+        return database.settingsService.getSettingsAnalytics();
+    }
+    
+    @Benchmark
+    public Settings patchSettings(SeededDatabase database) {
+        Settings.Theme theme = Settings.Theme.values()[ThreadLocalRandom.current().nextInt(Settings.Theme.values().length)];
+        return database.settingsService.patchSettings(database.randomUserId(),
+            Settings.builder().theme(theme).build(), List.of("theme"));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.example.integration.benchmark;
+
+import com.example.integration.entity.User;
+import com.example.integration.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class UserServiceBenchmark {
+    
+    private static final int LOOKUP_SIZE = 100;
+    private static final int BATCH_SIZE = 100;
+    private static final int PAGE_SIZE = 100;
+    
+    @Benchmark
+    public User createUserWithDefaults(SeededDatabase database) {
+        return database.userService.createUserWithDefaults(database.newUser());
+    }
+    
+    @Benchmark
+    public UserService.BatchCreationResult createUsersInBatch(SeededDatabase database) {
+        List<User> users = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            users.add(database.newUser());
+        }
+        return database.userService.createUsersInBatch(users);
+    }
+    
+    @Benchmark
+    public Optional<UserService.UserDetails> findUserDetails(SeededDatabase database) {
+        return database.userService.findUserDetails(database.username(database.randomIndex()));
+    }
+    
+    @Benchmark
+    public Map<String, UserService.UserDetails> lookupUserDetails(SeededDatabase database) {
+        List<String> keys = new ArrayList<>(LOOKUP_SIZE);
+        for (int i = 0; i < LOOKUP_SIZE; i++) {
+            keys.add(database.username(database.randomIndex()));
+        }
+        return database.userService.lookupUserDetails(keys);
+    }
+    
+    @Benchmark
+    public List<UserService.PublicUserSummary> findActiveUsersWithPublicProfiles(SeededDatabase database) {
+        return database.userService.findActiveUsersWithPublicProfiles(database.randomUserId(), PAGE_SIZE);
+    }
+    
+    @Benchmark
+    public UserService.UserStatistics getUserStatistics(SeededDatabase database) {
+        return database.userService.getUserStatistics();
+    }
+}
\ No newline at end of file
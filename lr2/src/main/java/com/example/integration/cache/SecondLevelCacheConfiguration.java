@@ -0,0 +1,73 @@
+package com.example.integration.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+@Configuration
+public class SecondLevelCacheConfiguration {
+    
+    public static final String SETTINGS_REGION = "settings";
+    public static final String PROFILES_REGION = "profiles";
+    public static final String SETTINGS_QUERY_REGION = "settings-queries";
+    public static final String PROFILES_QUERY_REGION = "profiles-queries";
+    
+    public static final List<String> ENTITY_REGIONS = List.of(SETTINGS_REGION, PROFILES_REGION);
+    public static final List<String> QUERY_REGIONS = List.of(SETTINGS_QUERY_REGION, PROFILES_QUERY_REGION);
+    
+    private static final String DEFAULT_QUERY_REGION = "default-query-results-region";
+    private static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+    
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(@Value("${app.second-level-cache.max-size:100000}") long maxSize,
+                                                @Value("${app.second-level-cache.ttl:10m}") Duration ttl) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+            .getCacheManager(URI.create("second-level-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+        
+        for (String region : ENTITY_REGIONS) {
+            cacheManager.createCache(region, boundedRegion(maxSize, ttl));
+        }
+        for (String region : QUERY_REGIONS) {
+            cacheManager.createCache(region, boundedRegion(maxSize, ttl));
+        }
+        cacheManager.createCache(DEFAULT_QUERY_REGION, boundedRegion(maxSize, ttl));
+        cacheManager.createCache(TIMESTAMPS_REGION, new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+            CacheManager secondLevelCacheManager,
+            @Value("${app.second-level-cache.enabled:true}") boolean enabled) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, enabled);
+            if (enabled) {
+                properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+                properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+                properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            }
+        };
+    }
+    
+    private static CaffeineConfiguration<Object, Object> boundedRegion(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
\ No newline at end of file
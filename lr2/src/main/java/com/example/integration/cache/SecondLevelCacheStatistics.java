@@ -0,0 +1,67 @@
+package com.example.integration.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheStatistics {
+    
+    private final EntityManagerFactory entityManagerFactory;
+    
+    public List<RegionStats> getRegionStats() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Statistics statistics = sessionFactory.getStatistics();
+        List<RegionStats> regions = new ArrayList<>();
+        if (!statistics.isStatisticsEnabled() || !sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled()) {
+            return regions;
+        }
+        for (String region : SecondLevelCacheConfiguration.ENTITY_REGIONS) {
+            regions.add(toRegionStats(region, statistics.getDomainDataRegionStatistics(region)));
+        }
+        for (String region : SecondLevelCacheConfiguration.QUERY_REGIONS) {
+            sessionFactory.getCache().getQueryResultsCache(region);
+            regions.add(toRegionStats(region, statistics.getQueryRegionStatistics(region)));
+        }
+        return regions;
+    }
+    
+    public RegionStats getRegionStats(String region) {
+        return getRegionStats().stream()
+            .filter(stats -> stats.getRegion().equals(region))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown cache region: " + region));
+    }
+    
+    private static RegionStats toRegionStats(String region, CacheRegionStatistics statistics) {
+        if (statistics == null) {
+            return RegionStats.builder().region(region).build();
+        }
+        long hits = statistics.getHitCount();
+        long misses = statistics.getMissCount();
+        return RegionStats.builder()
+            .region(region)
+            .hits(hits)
+            .misses(misses)
+            .puts(statistics.getPutCount())
+            .hitRate(hits + misses == 0 ? 0.0 : (double) hits / (hits + misses))
+            .build();
+    }
+    
+    @lombok.Data
+    @lombok.Builder
+    public static class RegionStats {
+        private String region;
+        private long hits;
+        private long misses;
+        private long puts;
+        private double hitRate;
+    }
+}
\ No newline at end of file
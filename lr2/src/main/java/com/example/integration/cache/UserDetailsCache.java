@@ -0,0 +1,229 @@
+package com.example.integration.cache;
+
+import com.example.integration.service.UserService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+@Component
+public class UserDetailsCache {
+    
+    private static final int GENERATION_STRIPES = 1024;
+    
+    private final boolean enabled;
+    private final Cache<String, Long> idsByKey;
+    private final Cache<Long, UserService.UserDetails> usersById;
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder stalePuts = new LongAdder();
+    
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    
+    public UserDetailsCache(@Value("${app.users.details-cache.enabled:true}") boolean enabled,
+                            @Value("${app.users.details-cache.max-size:100000}") long maxSize,
+                            @Value("${app.users.details-cache.ttl:5m}") Duration ttl) {
+        this.enabled = enabled;
+        this.idsByKey = Caffeine.newBuilder()
+            .maximumSize(maxSize * 2)
+            .expireAfterWrite(ttl)
+            .build();
+        this.usersById = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    }
+    
+    public Optional<UserService.UserDetails> get(String usernameOrEmail,
+                                                 Function<String, Optional<UserService.UserDetails>> loader) {
+        if (!enabled) {
+            return loader.apply(usernameOrEmail);
+        }
+        
+        Optional<UserService.UserDetails> cached = getIfPresent(usernameOrEmail);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        
+        misses.increment();
+        long loadedAt = clock.get();
+        Optional<UserService.UserDetails> loaded = loader.apply(usernameOrEmail);
+        loaded.ifPresent(user -> put(user, loadedAt));
+        return loaded;
+    }
+    
+    public Map<String, UserService.UserDetails> getAll(
+            Collection<String> usernamesOrEmails,
+            Function<Collection<String>, Map<String, UserService.UserDetails>> loader) {
+        if (!enabled) {
+            return loader.apply(usernamesOrEmails);
+        }
+        
+        Map<String, UserService.UserDetails> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String usernameOrEmail : usernamesOrEmails) {
+            getIfPresent(usernameOrEmail).ifPresentOrElse(
+                user -> found.put(usernameOrEmail, user),
+                () -> missing.add(usernameOrEmail));
+        }
+        if (missing.isEmpty()) {
+            return found;
+        }
+        
+        misses.add(missing.size());
+        long loadedAt = clock.get();
+        loader.apply(missing).forEach((usernameOrEmail, user) -> {
+            put(user, loadedAt);
+            found.put(usernameOrEmail, user);
+        });
+        return found;
+    }
+    
+    public Optional<UserService.UserDetails> getIfPresent(String usernameOrEmail) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        
+        Long userId = idsByKey.getIfPresent(usernameOrEmail);
+        UserService.UserDetails cached = userId != null ? usersById.getIfPresent(userId) : null;
+        if (cached == null) {
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(cached);
+    }
+    
+    public void invalidateUser(Long userId) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        advance(userId);
+        usersById.invalidate(userId);
+        invalidations.increment();
+        afterCompletion(() -> {
+            advance(userId);
+            usersById.invalidate(userId);
+        });
+    }
+    
+    public void invalidateKeys(String username, String email) {
+        if (!enabled) {
+            return;
+        }
+        advance(username);
+        advance(email);
+        idsByKey.invalidate(username);
+        idsByKey.invalidate(email);
+        invalidations.increment();
+        afterCompletion(() -> {
+            advance(username);
+            advance(email);
+            idsByKey.invalidate(username);
+            idsByKey.invalidate(email);
+        });
+    }
+    
+    public void invalidateAll() {
+        long generation = clock.incrementAndGet();
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.accumulateAndGet(i, generation, Math::max);
+        }
+        usersById.invalidateAll();
+        idsByKey.invalidateAll();
+        invalidations.increment();
+    }
+    
+    public CacheStats getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+        return CacheStats.builder()
+            .enabled(enabled)
+            .size(usersById.estimatedSize())
+            .hits(hitCount)
+            .misses(missCount)
+            .hitRate(lookups == 0 ? 0.0 : (double) hitCount / lookups)
+            .evictions(usersById.stats().evictionCount())
+            .invalidations(invalidations.sum())
+            .stalePuts(stalePuts.sum())
+            .build();
+    }
+    
+    private void put(UserService.UserDetails user, long loadedAt) {
+        if (isStale(user, loadedAt)) {
+            stalePuts.increment();
+            return;
+        }
+        usersById.put(user.getId(), user);
+        idsByKey.put(user.getUsername(), user.getId());
+        idsByKey.put(user.getEmail(), user.getId());
+        if (isStale(user, loadedAt)) {
+            stalePuts.increment();
+            usersById.invalidate(user.getId());
+            idsByKey.invalidate(user.getUsername());
+            idsByKey.invalidate(user.getEmail());
+        }
+    }
+    
+    private boolean isStale(UserService.UserDetails user, long loadedAt) {
+        return generation(user.getId()) > loadedAt
+            || generation(user.getUsername()) > loadedAt
+            || generation(user.getEmail()) > loadedAt;
+    }
+    
+    private long generation(Object key) {
+        return key != null ? generations.get(stripe(key)) : 0;
+    }
+    
+    private void advance(Object key) {
+        if (key != null) {
+            generations.accumulateAndGet(stripe(key), clock.incrementAndGet(), Math::max);
+        }
+    }
+    
+    private static int stripe(Object key) {
+        return Math.floorMod(key.hashCode(), GENERATION_STRIPES);
+    }
+    
+    private static void afterCompletion(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+    }
+    
+    @lombok.Data
+    @lombok.Builder
+    public static class CacheStats {
+        private boolean enabled;
+        private long size;
+        private long hits;
+        private long misses;
+        private double hitRate;
+        private long evictions;
+        private long invalidations;
+        private long stalePuts;
+    }
+}
\ No newline at end of file
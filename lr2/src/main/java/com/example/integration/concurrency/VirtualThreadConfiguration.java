@@ -0,0 +1,36 @@
+package com.example.integration.concurrency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.task.TaskExecutorCustomizer;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "app.concurrency.virtual-threads.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfiguration {
+    
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            if (VirtualThreads.isSupported()) {
+                protocolHandler.setExecutor(VirtualThreads.newThreadPerTaskExecutor("tomcat-handler-"));
+                log.info("Tomcat request handling runs on virtual threads");
+            } else {
+                log.warn("Virtual threads requested but not supported on Java {}, keeping the Tomcat thread pool",
+                    Runtime.version());
+            }
+        };
+    }
+    
+    @Bean
+    public TaskExecutorCustomizer virtualThreadTaskExecutorCustomizer() {
+        return taskExecutor -> {
+            if (VirtualThreads.isSupported()) {
+                taskExecutor.setThreadFactory(VirtualThreads.threadFactory("task-"));
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,167 @@
+package com.example.integration.controller;
+
+import com.example.integration.concurrency.VirtualThreads;
+import com.example.integration.diagnostics.QueryDiagnostics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+@Component
+@Slf4j
+public class AsyncRequestExecutor {
+    
+    private final QueryDiagnostics queryDiagnostics;
+    private final boolean enabled;
+    private final boolean virtualThreads;
+    private final long retryAfterSeconds;
+    private final int poolSize;
+    private final ExecutorService executor;
+    private final ThreadPoolExecutor platformPool;
+    private final Semaphore virtualPermits;
+    
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+    
+    public AsyncRequestExecutor(QueryDiagnostics queryDiagnostics,
+                                @Value("${app.web.async.enabled:false}") boolean enabled,
+                                @Value("${app.web.async.pool-size:16}") int poolSize,
+                                @Value("${app.web.async.queue-capacity:100}") int queueCapacity,
+                                @Value("${app.web.async.retry-after-seconds:1}") long retryAfterSeconds,
+                                @Value("${app.concurrency.virtual-threads.enabled:false}") boolean virtualThreads,
+                                @Value("${app.concurrency.virtual-threads.max-concurrent-requests:10000}") int maxConcurrentRequests) {
+        this.queryDiagnostics = queryDiagnostics;
+        this.enabled = enabled;
+        this.virtualThreads = virtualThreads && VirtualThreads.isSupported();
+        this.retryAfterSeconds = retryAfterSeconds;
+        if (this.virtualThreads) {
+            this.poolSize = maxConcurrentRequests;
+            this.executor = VirtualThreads.newThreadPerTaskExecutor("request-executor-");
+            this.platformPool = null;
+            this.virtualPermits = new Semaphore(maxConcurrentRequests);
+        } else {
+            this.poolSize = poolSize;
+            this.platformPool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), platformThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+            this.executor = platformPool;
+            this.virtualPermits = null;
+        }
+        if (virtualThreads && !this.virtualThreads) {
+            log.warn("Virtual threads requested but not supported on Java {}, request executor uses {} platform threads",
+                Runtime.version(), poolSize);
+        }
+    }
+    
+    public <T> CompletableFuture<ResponseEntity<T>> submit(Supplier<ResponseEntity<T>> handler) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(handler.get());
+        }
+        
+        long submittedAt = System.nanoTime();
+        Supplier<ResponseEntity<T>> task = queryDiagnostics.propagate(handler);
+        if (virtualPermits != null && !virtualPermits.tryAcquire()) {
+            return reject();
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                recordWait(System.nanoTime() - submittedAt);
+                try {
+                    return task.get();
+                } finally {
+                    completed.increment();
+                    release();
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            release();
+            return reject();
+        }
+    }
+    
+    public ExecutorStats getStats() {
+        long startedCount = started.sum();
+        return ExecutorStats.builder()
+            .enabled(enabled)
+            .virtualThreads(virtualThreads)
+            .poolSize(poolSize)
+            .activeThreads(platformPool != null ? platformPool.getActiveCount() : poolSize - virtualPermits.availablePermits())
+            .queueDepth(platformPool != null ? platformPool.getQueue().size() : 0)
+            .queueCapacity(platformPool != null ? platformPool.getQueue().size() + platformPool.getQueue().remainingCapacity() : 0)
+            .started(startedCount)
+            .completed(completed.sum())
+            .rejected(rejected.sum())
+            .averageWaitMillis(startedCount == 0 ? 0.0 : totalWaitNanos.sum() / (double) startedCount / 1_000_000)
+            .maxWaitMillis(maxWaitNanos.get() / 1_000_000.0)
+            .build();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+    
+    private <T> CompletableFuture<ResponseEntity<T>> reject() {
+        rejected.increment();
+        log.debug("Request executor saturated, rejecting request");
+        return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+            .build());
+    }
+    
+    private void release() {
+        if (virtualPermits != null) {
+            virtualPermits.release();
+        }
+    }
+    
+    private void recordWait(long waitNanos) {
+        started.increment();
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulate(waitNanos);
+    }
+    
+    private static ThreadFactory platformThreadFactory() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "request-executor-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+    
+    @lombok.Data
+    @lombok.Builder
+    public static class ExecutorStats {
+        private boolean enabled;
+        private boolean virtualThreads;
+        private int poolSize;
+        private int activeThreads;
+        private int queueDepth;
+        private int queueCapacity;
+        private long started;
+        private long completed;
+        private long rejected;
+        private double averageWaitMillis;
+        private double maxWaitMillis;
+    }
+}
\ No newline at end of file
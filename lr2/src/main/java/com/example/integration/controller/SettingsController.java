@@ -0,0 +1,97 @@
+package com.example.integration.controller;
+
+import com.example.integration.entity.Settings;
+import com.example.integration.service.SettingsService;
+import com.example.integration.service.UpdateConflictException;
+import com.example.integration.service.UserNotFoundException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import javax.validation.ConstraintViolationException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/users/{userId}/settings")
+@RequiredArgsConstructor
+public class SettingsController {
+    
+    private static final String CONFLICTING_FIELDS_HEADER = "X-Conflicting-Fields";
+    
+    private final SettingsService settingsService;
+    private final ObjectMapper objectMapper;
+    
+    @GetMapping
+    public ResponseEntity<Settings> getSettings(@PathVariable Long userId, WebRequest request) {
+        Optional<Settings> settingsOpt = settingsService.getSettingsWithUserDetails(userId);
+        if (settingsOpt.isPresent()) {
+            if (settingsService.hasPendingWrites(userId)) {
+                return ResponseEntity.ok(settingsOpt.get());
+            }
+            String eTag = String.valueOf(settingsOpt.get().getVersion());
+            Instant lastModified = lastModified(settingsOpt.get());
+            if (request.checkNotModified(eTag, lastModified.toEpochMilli())) {
+                return null;
+            }
+            return ResponseEntity.ok()
+                .eTag(eTag)
+                .lastModified(lastModified)
+                .body(settingsOpt.get());
+        } else {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @PatchMapping
+    public ResponseEntity<Settings> patchSettings(@PathVariable Long userId, @RequestBody ObjectNode fields) {
+        List<String> fieldNames = new ArrayList<>();
+        fields.fieldNames().forEachRemaining(fieldNames::add);
+        try {
+            Settings update = objectMapper.treeToValue(fields, Settings.class);
+            Settings updatedSettings = settingsService.patchSettings(userId, update, fieldNames);
+            return ResponseEntity.ok()
+                .eTag(String.valueOf(updatedSettings.getVersion()))
+                .body(updatedSettings);
+        } catch (UpdateConflictException e) {
+            return conflict(userId, e.getConflictingFields());
+        } catch (OptimisticLockingFailureException e) {
+            return conflict(userId, fieldNames);
+        } catch (UserNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (TransactionSystemException e) {
+            if (e.getRootCause() instanceof ConstraintViolationException) {
+                return ResponseEntity.badRequest().build();
+            }
+            throw e;
+        }
+    }
+    
+    private static Instant lastModified(Settings settings) {
+        LocalDateTime modifiedAt = settings.getUpdatedAt() != null ? settings.getUpdatedAt() : settings.getCreatedAt();
+        return modifiedAt.atZone(ZoneId.systemDefault()).toInstant();
+    }
+    
+    private ResponseEntity<Settings> conflict(Long userId, List<String> conflictingFields) {
+        Optional<Settings> current = settingsService.getSettingsWithUserDetails(userId);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.CONFLICT)
+            .header(CONFLICTING_FIELDS_HEADER, String.join(",", conflictingFields));
+        if (current.isPresent()) {
+            response.eTag(String.valueOf(current.get().getVersion()));
+        }
+        return response.body(current.orElse(null));
+    }
+}
\ No newline at end of file
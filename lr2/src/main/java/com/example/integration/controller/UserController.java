@@ -1,74 +1,196 @@
 package com.example.integration.controller;
 
+import com.example.integration.cache.UserDetailsCache;
 import com.example.integration.entity.User;
 import com.example.integration.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
 public class UserController {
     
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    
     private final UserService userService;
+    private final UserDetailsCache userDetailsCache;
+    private final ObjectMapper objectMapper;
+    private final AsyncRequestExecutor asyncRequestExecutor;
+    
+    @Value("${app.users.batch.max-size:10000}")
+    private int maxBatchSize;
+    
+    @Value("${app.users.lookup.max-size:500}")
+    private int maxLookupSize;
+    
+    @Value("${app.users.page.max-size:500}")
+    private int maxPageSize;
     
     @PostMapping
-    public ResponseEntity<User> createUser(@Valid @RequestBody User user) {
-        try {
-            User createdUser = userService.createUserWithDefaults(user);
-            return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().build();
+    public CompletableFuture<ResponseEntity<UserService.UserAccount>> createUser(
+            @Valid @RequestBody User user) {
+        return asyncRequestExecutor.submit(() -> {
+            try {
+                User createdUser = userService.createUserWithDefaults(user);
+                return ResponseEntity.status(HttpStatus.CREATED).body(UserService.UserAccount.of(createdUser));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        });
+    }
+    
+    @PostMapping("/batch")
+    public CompletableFuture<ResponseEntity<UserService.BatchCreationResult>> createUsers(
+            @RequestBody List<User> users) {
+        if (users.size() > maxBatchSize) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build());
         }
+        return asyncRequestExecutor.submit(() -> {
+            UserService.BatchCreationResult result = userService.createUsersInBatch(users);
+            return ResponseEntity.ok(result);
+        });
     }
     
-    @GetMapping("/{usernameOrEmail}")
-    public ResponseEntity<User> getUser(@PathVariable String usernameOrEmail) {
-        Optional<User> userOpt = userService.findUserWithDetails(usernameOrEmail);
-        if (userOpt.isPresent()) {
-            return ResponseEntity.ok(userOpt.get());
-        } else {
-            return ResponseEntity.notFound().build();
+    @PostMapping("/lookup")
+    public CompletableFuture<ResponseEntity<UserService.LookupResult>> lookupUsers(
+            @RequestBody List<String> usernamesOrEmails) {
+        Set<String> keys = usernamesOrEmails.stream()
+            .filter(Objects::nonNull)
+            .map(String::trim)
+            .filter(key -> !key.isEmpty())
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (keys.size() > maxLookupSize) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build());
         }
+        return asyncRequestExecutor.submit(() -> {
+            Map<String, UserService.UserDetails> users = userDetailsCache.getAll(keys, userService::lookupUserDetails);
+            return ResponseEntity.ok(UserService.LookupResult.of(keys, users));
+        });
+    }
+    
+    @GetMapping("/{usernameOrEmail}")
+    public CompletableFuture<ResponseEntity<UserService.UserDetails>> getUser(@PathVariable String usernameOrEmail,
+                                                                          WebRequest request) {
+        return asyncRequestExecutor.submit(() -> {
+            Optional<UserService.UserDetails> cached = userDetailsCache.getIfPresent(usernameOrEmail);
+            Optional<UserService.UserVersion> version = cached.isPresent()
+                ? cached.map(UserService.UserDetails::getVersion)
+                : userService.findUserVersion(usernameOrEmail);
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (request.checkNotModified(version.get().getETag(), version.get().getLastModified().toEpochMilli())) {
+                return null;
+            }
+            
+            Optional<UserService.UserDetails> userOpt = cached.isPresent()
+                ? cached
+                : userDetailsCache.get(usernameOrEmail, userService::findUserDetails);
+            if (userOpt.isPresent()) {
+                return ResponseEntity.ok()
+                    .eTag(userOpt.get().getVersion().getETag())
+                    .lastModified(userOpt.get().getVersion().getLastModified())
+                    .body(userOpt.get());
+            } else {
+                return ResponseEntity.notFound().build();
+            }
+        });
     }
     
     @PutMapping("/{userId}/status")
-    public ResponseEntity<User> updateUserStatus(
+    public CompletableFuture<ResponseEntity<UserService.UserAccount>> updateUserStatus(
             @PathVariable Long userId,
             @RequestParam User.UserStatus status) {
-        try {
-            User updatedUser = userService.updateUserStatus(userId, status);
-            return ResponseEntity.ok(updatedUser);
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.notFound().build();
-        }
+        return asyncRequestExecutor.submit(() -> {
+            try {
+                User updatedUser = userService.updateUserStatus(userId, status);
+                return ResponseEntity.ok(UserService.UserAccount.of(updatedUser));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.notFound().build();
+            }
+        });
     }
     
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Void> deleteUser(@PathVariable Long userId) {
-        try {
-            userService.deleteUser(userId);
-            return ResponseEntity.noContent().build();
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.notFound().build();
-        }
+    public CompletableFuture<ResponseEntity<Void>> deleteUser(@PathVariable Long userId) {
+        return asyncRequestExecutor.submit(() -> {
+            try {
+                userService.deleteUser(userId);
+                return ResponseEntity.noContent().build();
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.notFound().build();
+            }
+        });
     }
     
     @GetMapping("/active-public")
-    public ResponseEntity<List<User>> getActiveUsersWithPublicProfiles() {
-        List<User> users = userService.findActiveUsersWithPublicProfiles();
-        return ResponseEntity.ok(users);
+    public CompletableFuture<ResponseEntity<List<UserService.PublicUserSummary>>> getActiveUsersWithPublicProfiles(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit) {
+        return asyncRequestExecutor.submit(() -> {
+            if (afterId == null && limit == null) {
+                return ResponseEntity.ok(userService.findActiveUsersWithPublicProfiles());
+            }
+            
+            int pageSize = Math.min(limit != null ? limit : maxPageSize, maxPageSize);
+            if (pageSize <= 0) {
+                return ResponseEntity.badRequest().build();
+            }
+            
+            List<UserService.PublicUserSummary> users =
+                userService.findActiveUsersWithPublicProfiles(afterId, pageSize);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (users.size() == pageSize) {
+                response.header(NEXT_CURSOR_HEADER, String.valueOf(users.get(users.size() - 1).getId()));
+            }
+            return response.body(users);
+        });
+    }
+    
+    @GetMapping(value = "/active-public", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamActiveUsersWithPublicProfiles() {
+        StreamingResponseBody body = outputStream -> {
+            userService.streamActiveUsersWithPublicProfiles(user -> {
+                try {
+                    outputStream.write(objectMapper.writeValueAsBytes(user));
+                    outputStream.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            outputStream.flush();
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(NDJSON))
+            .body(body);
     }
     
     @GetMapping("/statistics")
-    public ResponseEntity<UserService.UserStatistics> getUserStatistics() {
-        UserService.UserStatistics stats = userService.getUserStatistics();
-        return ResponseEntity.ok(stats);
+    public CompletableFuture<ResponseEntity<UserService.UserStatistics>> getUserStatistics() {
+        return asyncRequestExecutor.submit(() -> {
+            UserService.UserStatistics stats = userService.getUserStatistics();
+            return ResponseEntity.ok(stats);
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.example.integration.diagnostics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@Component
+@RequiredArgsConstructor
+public class QueryBudgetFilter extends OncePerRequestFilter {
+    
+    static final String UNMATCHED_ENDPOINT = "<unmatched>";
+    
+    private static final String SCOPE_ATTRIBUTE = QueryBudgetFilter.class.getName() + ".scope";
+    
+    private final QueryDiagnostics queryDiagnostics;
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !queryDiagnostics.isEnabled() || request.getRequestURI().startsWith("/actuator");
+    }
+    
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryDiagnostics.Scope scope = (QueryDiagnostics.Scope) request.getAttribute(SCOPE_ATTRIBUTE);
+        if (scope == null) {
+            scope = queryDiagnostics.openRequest();
+            request.setAttribute(SCOPE_ATTRIBUTE, scope);
+        }
+        QueryDiagnostics.Scope previous = queryDiagnostics.attach(scope);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            queryDiagnostics.restore(previous);
+            if (!request.isAsyncStarted()) {
+                queryDiagnostics.closeRequest(scope, endpoint(request));
+            }
+        }
+    }
+    
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? request.getMethod() + " " + pattern : UNMATCHED_ENDPOINT;
+    }
+}
\ No newline at end of file
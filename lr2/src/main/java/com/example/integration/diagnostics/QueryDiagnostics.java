@@ -0,0 +1,304 @@
+package com.example.integration.diagnostics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class QueryDiagnostics {
+    
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin \\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final int MAX_CACHED_SHAPES = 10_000;
+    private static final int MAX_LOGGED_SHAPES = 5;
+    private static final String APPLICATION_PACKAGE = "com.example.integration.";
+    private static final String DIAGNOSTICS_PACKAGE = "com.example.integration.diagnostics.";
+    private static final Comparator<Map.Entry<String, ShapeCount>> BY_COUNT =
+        Comparator.comparingLong((Map.Entry<String, ShapeCount> entry) -> entry.getValue().count.sum()).reversed();
+    
+    private final boolean enabled;
+    private final int maxStatements;
+    private final long maxJdbcNanos;
+    private final int nPlusOneThreshold;
+    private final int top;
+    
+    private final ThreadLocal<Scope> requestScope = new ThreadLocal<>();
+    private final ThreadLocal<Scope> serviceScope = new ThreadLocal<>();
+    private final Map<String, String> shapes = new ConcurrentHashMap<>();
+    private final Map<String, Offender> offenders = new ConcurrentHashMap<>();
+    
+    public QueryDiagnostics(@Value("${app.diagnostics.queries.enabled:false}") boolean enabled,
+                            @Value("${app.diagnostics.queries.max-statements:20}") int maxStatements,
+                            @Value("${app.diagnostics.queries.max-jdbc-time:100ms}") Duration maxJdbcTime,
+                            @Value("${app.diagnostics.queries.n-plus-one-threshold:5}") int nPlusOneThreshold,
+                            @Value("${app.diagnostics.queries.top:10}") int top) {
+        this.enabled = enabled;
+        this.maxStatements = maxStatements;
+        this.maxJdbcNanos = maxJdbcTime.toNanos();
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.top = top;
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public Scope openRequest() {
+        return new Scope(ScopeKind.REQUEST);
+    }
+    
+    public Scope attach(Scope scope) {
+        Scope previous = requestScope.get();
+        requestScope.set(scope);
+        return previous;
+    }
+    
+    public void restore(Scope previous) {
+        if (previous == null) {
+            requestScope.remove();
+        } else {
+            requestScope.set(previous);
+        }
+    }
+    
+    public void closeRequest(Scope scope, String endpoint) {
+        close(scope, endpoint);
+    }
+    
+    public <T> Supplier<T> propagate(Supplier<T> task) {
+        Scope scope = requestScope.get();
+        if (!enabled || scope == null) {
+            return task;
+        }
+        return () -> {
+            Scope previous = attach(scope);
+            try {
+                return task.get();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+    
+    public boolean inService() {
+        return serviceScope.get() != null;
+    }
+    
+    public Scope openService() {
+        Scope scope = new Scope(ScopeKind.SERVICE);
+        serviceScope.set(scope);
+        return scope;
+    }
+    
+    public void closeService(Scope scope, String name) {
+        serviceScope.remove();
+        close(scope, name);
+    }
+    
+    public QueryDiagnosticsReport getReport() {
+        Map<ScopeKind, List<QueryDiagnosticsReport.Offender>> byKind = offenders.values().stream()
+            .map(Offender::toReport)
+            .sorted(Comparator.comparingLong(QueryDiagnosticsReport.Offender::getViolations).reversed()
+                .thenComparing(Comparator.comparingLong(QueryDiagnosticsReport.Offender::getMaxStatements).reversed()))
+            .collect(Collectors.groupingBy(QueryDiagnosticsReport.Offender::getKind,
+                Collectors.collectingAndThen(Collectors.toList(), list -> list.subList(0, Math.min(top, list.size())))));
+        return QueryDiagnosticsReport.builder()
+            .enabled(enabled)
+            .maxStatements(maxStatements)
+            .maxJdbcMillis(TimeUnit.NANOSECONDS.toMillis(maxJdbcNanos))
+            .repeatedShapeThreshold(nPlusOneThreshold)
+            .endpoints(byKind.getOrDefault(ScopeKind.REQUEST, List.of()))
+            .services(byKind.getOrDefault(ScopeKind.SERVICE, List.of()))
+            .build();
+    }
+    
+    public void reset() {
+        offenders.clear();
+    }
+    
+    void record(String sql, long elapsedNanos) {
+        Scope request = requestScope.get();
+        Scope service = serviceScope.get();
+        if (request == null && service == null) {
+            return;
+        }
+        String shape = shape(sql);
+        if (request != null) {
+            request.record(shape, elapsedNanos);
+        }
+        if (service != null) {
+            service.record(shape, elapsedNanos);
+        }
+    }
+    
+    String shape(String sql) {
+        String cached = shapes.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (?)");
+        if (shapes.size() < MAX_CACHED_SHAPES) {
+            shapes.put(sql, shape);
+        }
+        return shape;
+    }
+    
+    private void close(Scope scope, String name) {
+        long statements = scope.statements.sum();
+        long jdbcNanos = scope.jdbcNanos.sum();
+        List<Map.Entry<String, ShapeCount>> repeated = scope.shapes.entrySet().stream()
+            .filter(entry -> entry.getValue().count.sum() >= nPlusOneThreshold)
+            .sorted(BY_COUNT)
+            .collect(Collectors.toList());
+        boolean overStatements = statements > maxStatements;
+        boolean overTime = jdbcNanos > maxJdbcNanos;
+        boolean violation = overStatements || overTime || !repeated.isEmpty();
+        
+        List<Map.Entry<String, ShapeCount>> offending = !repeated.isEmpty() || !violation ? repeated
+            : scope.shapes.entrySet().stream().sorted(BY_COUNT).collect(Collectors.toList());
+        offenders.computeIfAbsent(scope.kind + " " + name, key -> new Offender(scope.kind, name))
+            .record(statements, jdbcNanos, violation, !repeated.isEmpty(), offending.isEmpty() ? null : offending.get(0));
+        
+        if (violation) {
+            log.warn("Query budget exceeded by {} {}: {} statements (budget {}), {} ms JDBC (budget {} ms), {}:{}",
+                scope.kind, name, statements, maxStatements,
+                TimeUnit.NANOSECONDS.toMillis(jdbcNanos), TimeUnit.NANOSECONDS.toMillis(maxJdbcNanos),
+                repeated.isEmpty() ? "top statements" : "possible N+1", describe(offending));
+        }
+    }
+    
+    private static String describe(List<Map.Entry<String, ShapeCount>> shapes) {
+        return shapes.stream()
+            .limit(MAX_LOGGED_SHAPES)
+            .map(entry -> "\n  " + entry.getValue().count.sum() + "x " + entry.getKey() + " at " + entry.getValue().callSite)
+            .collect(Collectors.joining());
+    }
+    
+    private static String callSite() {
+        return StackWalker.getInstance().walk(frames -> frames
+            .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                && !frame.getClassName().startsWith(DIAGNOSTICS_PACKAGE)
+                && !frame.getClassName().contains("$$"))
+            .findFirst()
+            .map(frame -> frame.getClassName().substring(APPLICATION_PACKAGE.length()) + "."
+                + frame.getMethodName() + ":" + frame.getLineNumber())
+            .orElse("unknown"));
+    }
+    
+    public enum ScopeKind {
+        REQUEST, SERVICE
+    }
+    
+    public static class Scope {
+        private final ScopeKind kind;
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder jdbcNanos = new LongAdder();
+        private final Map<String, ShapeCount> shapes = new ConcurrentHashMap<>();
+        
+        private Scope(ScopeKind kind) {
+            this.kind = kind;
+        }
+        
+        private void record(String shape, long elapsedNanos) {
+            statements.increment();
+            jdbcNanos.add(elapsedNanos);
+            shapes.computeIfAbsent(shape, key -> new ShapeCount(callSite())).count.increment();
+        }
+    }
+    
+    private static class ShapeCount {
+        private final String callSite;
+        private final LongAdder count = new LongAdder();
+        
+        private ShapeCount(String callSite) {
+            this.callSite = callSite;
+        }
+    }
+    
+    private static class Offender {
+        private final ScopeKind kind;
+        private final String name;
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder violations = new LongAdder();
+        private final LongAdder nPlusOneViolations = new LongAdder();
+        private final LongAdder totalStatements = new LongAdder();
+        private final LongAdder totalJdbcNanos = new LongAdder();
+        private volatile long maxStatements;
+        private volatile long maxJdbcNanos;
+        private volatile String worstShape;
+        private volatile long worstShapeCount;
+        private volatile String worstCallSite;
+        private final ReentrantLock lock = new ReentrantLock();
+        
+        private Offender(ScopeKind kind, String name) {
+            this.kind = kind;
+            this.name = name;
+        }
+        
+        private void record(long statements, long jdbcNanos, boolean violation, boolean nPlusOne,
+                            Map.Entry<String, ShapeCount> shape) {
+            lock.lock();
+            try {
+                update(statements, jdbcNanos, violation, nPlusOne, shape);
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        private void update(long statements, long jdbcNanos, boolean violation, boolean nPlusOne,
+                            Map.Entry<String, ShapeCount> shape) {
+            executions.increment();
+            totalStatements.add(statements);
+            totalJdbcNanos.add(jdbcNanos);
+            maxStatements = Math.max(maxStatements, statements);
+            maxJdbcNanos = Math.max(maxJdbcNanos, jdbcNanos);
+            if (violation) {
+                violations.increment();
+            }
+            if (nPlusOne) {
+                nPlusOneViolations.increment();
+            }
+            if (shape != null && shape.getValue().count.sum() >= worstShapeCount) {
+                worstShape = shape.getKey();
+                worstShapeCount = shape.getValue().count.sum();
+                worstCallSite = shape.getValue().callSite;
+            }
+        }
+        
+        private QueryDiagnosticsReport.Offender toReport() {
+            long count = executions.sum();
+            return QueryDiagnosticsReport.Offender.builder()
+                .kind(kind)
+                .name(name)
+                .executions(count)
+                .violations(violations.sum())
+                .repeatedShapeViolations(nPlusOneViolations.sum())
+                .averageStatements(count == 0 ? 0.0 : totalStatements.sum() / (double) count)
+                .maxStatements(maxStatements)
+                .averageJdbcMillis(count == 0 ? 0.0 : totalJdbcNanos.sum() / (double) count / 1_000_000)
+                .maxJdbcMillis(maxJdbcNanos / 1_000_000.0)
+                .worstShape(worstShape)
+                .worstShapeCount(worstShapeCount)
+                .worstCallSite(worstCallSite)
+                .build();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.example.integration.diagnostics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "app.diagnostics.queries.enabled", havingValue = "true")
+public class QueryDiagnosticsConfiguration {
+    
+    @Bean
+    public static BeanPostProcessor queryDiagnosticsDataSourcePostProcessor(ObjectProvider<QueryDiagnostics> queryDiagnostics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof QueryDiagnosticsDataSource)) {
+                    return new QueryDiagnosticsDataSource((DataSource) bean, queryDiagnostics);
+                }
+                return bean;
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.example.integration.diagnostics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+public class QueryDiagnosticsDataSource extends DelegatingDataSource {
+    
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+        "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+    
+    private final ObjectProvider<QueryDiagnostics> queryDiagnosticsProvider;
+    private volatile QueryDiagnostics queryDiagnostics;
+    
+    public QueryDiagnosticsDataSource(DataSource targetDataSource, ObjectProvider<QueryDiagnostics> queryDiagnosticsProvider) {
+        super(targetDataSource);
+        this.queryDiagnosticsProvider = queryDiagnosticsProvider;
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+    
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+            (proxy, method, args) -> {
+                Object result = invoke(connection, method, args);
+                if (result instanceof CallableStatement) {
+                    return wrap((Statement) result, CallableStatement.class, (String) args[0]);
+                }
+                if (result instanceof PreparedStatement) {
+                    return wrap((Statement) result, PreparedStatement.class, (String) args[0]);
+                }
+                if (result instanceof Statement) {
+                    return wrap((Statement) result, Statement.class, null);
+                }
+                return result;
+            });
+    }
+    
+    private Statement wrap(Statement statement, Class<? extends Statement> type, String preparedSql) {
+        return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { type },
+            (proxy, method, args) -> {
+                if (!EXECUTE_METHODS.contains(method.getName())) {
+                    return invoke(statement, method, args);
+                }
+                String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+                long startedAt = System.nanoTime();
+                try {
+                    return invoke(statement, method, args);
+                } finally {
+                    if (sql != null) {
+                        queryDiagnostics().record(sql, System.nanoTime() - startedAt);
+                    }
+                }
+            });
+    }
+    
+    private QueryDiagnostics queryDiagnostics() {
+        QueryDiagnostics current = queryDiagnostics;
+        if (current == null) {
+            current = queryDiagnosticsProvider.getObject();
+            queryDiagnostics = current;
+        }
+        return current;
+    }
+    
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
\ No newline at end of file
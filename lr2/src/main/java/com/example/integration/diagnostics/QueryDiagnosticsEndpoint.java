@@ -0,0 +1,25 @@
+package com.example.integration.diagnostics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "querydiagnostics")
+@RequiredArgsConstructor
+public class QueryDiagnosticsEndpoint {
+    
+    private final QueryDiagnostics queryDiagnostics;
+    
+    @ReadOperation
+    public QueryDiagnosticsReport report() {
+        return queryDiagnostics.getReport();
+    }
+    
+    @DeleteOperation
+    public void reset() {
+        queryDiagnostics.reset();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.example.integration.diagnostics;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class QueryDiagnosticsReport {
+    
+    private boolean enabled;
+    private int maxStatements;
+    private long maxJdbcMillis;
+    private int repeatedShapeThreshold;
+    private List<Offender> endpoints;
+    private List<Offender> services;
+    
+    @lombok.Data
+    @lombok.Builder
+    public static class Offender {
+        private QueryDiagnostics.ScopeKind kind;
+        private String name;
+        private long executions;
+        private long violations;
+        private long repeatedShapeViolations;
+        private double averageStatements;
+        private long maxStatements;
+        private double averageJdbcMillis;
+        private double maxJdbcMillis;
+        private String worstShape;
+        private long worstShapeCount;
+        private String worstCallSite;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.example.integration.diagnostics;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class ServiceQueryBudgetAspect {
+    
+    private final QueryDiagnostics queryDiagnostics;
+    
+    @Around("execution(public * com.example.integration..*(..)) && @within(org.springframework.stereotype.Service)")
+    public Object trackService(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!queryDiagnostics.isEnabled() || queryDiagnostics.inService()) {
+            return joinPoint.proceed();
+        }
+        QueryDiagnostics.Scope scope = queryDiagnostics.openService();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            queryDiagnostics.closeService(scope, joinPoint.getSignature().getDeclaringType().getSimpleName()
+                + "." + joinPoint.getSignature().getName());
+        }
+    }
+}
\ No newline at end of file
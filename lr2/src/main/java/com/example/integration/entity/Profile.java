@@ -5,6 +5,11 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
 import javax.validation.constraints.Past;
@@ -13,17 +18,26 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "profiles")
+@Table(name = "profiles", indexes = {
+    @Index(name = "idx_profiles_public_birth_date", columnList = "is_public, birth_date")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "profiles")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class Profile {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "profiles_seq")
+    @GenericGenerator(name = "profiles_seq", strategy = PooledSequenceGenerator.NAME,
+        parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "profiles_seq"))
     private Long id;
     
+    @Version
+    private Long version;
+    
     @Size(max = 100)
     @Column(name = "first_name")
     private String firstName;
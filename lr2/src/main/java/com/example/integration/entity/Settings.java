@@ -5,6 +5,11 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
 import javax.validation.constraints.Min;
@@ -13,17 +18,26 @@ import java.time.LocalDateTime;
 import java.util.Locale;
 
 @Entity
-@Table(name = "settings")
+@Table(name = "settings", indexes = {
+    @Index(name = "idx_settings_time_zone", columnList = "time_zone")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "settings")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class Settings {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "settings_seq")
+    @GenericGenerator(name = "settings_seq", strategy = PooledSequenceGenerator.NAME,
+        parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "settings_seq"))
     private Long id;
     
+    @Version
+    private Long version;
+    
     @Enumerated(EnumType.STRING)
     @Builder.Default
     private Theme theme = Theme.LIGHT;
@@ -0,0 +1,156 @@
+package com.example.integration.index;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@Slf4j
+public class ProfileBirthDateIndex {
+    
+    private static final int ID_BITS = 44;
+    private static final long ID_MASK = (1L << ID_BITS) - 1;
+    private static final long DAY_OFFSET = 1L << 18;
+    
+    private static final String ELIGIBLE_PROFILES_QUERY =
+        "SELECT p.id, p.birth_date FROM profiles p JOIN users u ON u.id = p.user_id " +
+        "WHERE p.is_public = TRUE AND u.status = 'ACTIVE' AND p.birth_date IS NOT NULL";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final ConcurrentSkipListSet<Long> keys = new ConcurrentSkipListSet<>();
+    private final Map<Long, Long> keysByProfileId = new ConcurrentHashMap<>();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile boolean ready;
+    
+    public ProfileBirthDateIndex(JdbcTemplate jdbcTemplate,
+                                 @Value("${app.profiles.birth-date-index.enabled:false}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+    
+    public boolean isServing() {
+        return enabled && ready;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+    
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            keys.clear();
+            keysByProfileId.clear();
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(ELIGIBLE_PROFILES_QUERY);
+                statement.setFetchSize(1000);
+                return statement;
+            }, rs -> {
+                put(rs.getLong(1), rs.getDate(2).toLocalDate());
+            });
+            ready = true;
+            log.info("Profile birth date index built: {} profiles", keys.size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+    
+    public void update(Long profileId, LocalDate birthDate, boolean eligible) {
+        if (!enabled || profileId == null) {
+            return;
+        }
+        afterCommit(() -> {
+            if (eligible && birthDate != null) {
+                put(profileId, birthDate);
+            } else {
+                remove(profileId);
+            }
+        });
+    }
+    
+    public void remove(Long profileId, boolean afterCommit) {
+        if (!enabled || profileId == null) {
+            return;
+        }
+        if (afterCommit) {
+            afterCommit(() -> remove(profileId));
+        } else {
+            remove(profileId);
+        }
+    }
+    
+    public List<Long> findProfileIds(LocalDate from, LocalDate to, long offset, int limit) {
+        if (from.isAfter(to) || limit <= 0) {
+            return List.of();
+        }
+        NavigableSet<Long> range = keys.subSet(key(from, 0), true, key(to, ID_MASK), true);
+        List<Long> profileIds = new ArrayList<>(Math.min(limit, 1024));
+        Iterator<Long> iterator = range.iterator();
+        for (long skipped = 0; skipped < offset && iterator.hasNext(); skipped++) {
+            iterator.next();
+        }
+        while (iterator.hasNext() && profileIds.size() < limit) {
+            profileIds.add(iterator.next() & ID_MASK);
+        }
+        return profileIds;
+    }
+    
+    public int size() {
+        return keys.size();
+    }
+    
+    private void put(long profileId, LocalDate birthDate) {
+        long key = key(birthDate, profileId);
+        keysByProfileId.compute(profileId, (id, previous) -> {
+            if (previous != null && previous != key) {
+                keys.remove(previous);
+            }
+            keys.add(key);
+            return key;
+        });
+    }
+    
+    private void remove(long profileId) {
+        keysByProfileId.computeIfPresent(profileId, (id, key) -> {
+            keys.remove(key);
+            return null;
+        });
+    }
+    
+    private static long key(LocalDate birthDate, long profileId) {
+        return ((birthDate.toEpochDay() + DAY_OFFSET) << ID_BITS) | (profileId & ID_MASK);
+    }
+    
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
\ No newline at end of file
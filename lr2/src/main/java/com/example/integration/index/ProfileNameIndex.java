@@ -0,0 +1,296 @@
+package com.example.integration.index;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+@Component
+@Slf4j
+public class ProfileNameIndex {
+    
+    private static final int GRAM = 3;
+    private static final char BOUNDARY = '\u0001';
+    
+    private static final String ELIGIBLE_PROFILES_QUERY =
+        "SELECT p.id, p.first_name, p.last_name FROM profiles p JOIN users u ON u.id = p.user_id " +
+        "WHERE p.is_public = TRUE AND u.status = 'ACTIVE' " +
+        "AND (p.first_name IS NOT NULL OR p.last_name IS NOT NULL)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Snapshot snapshot = new Snapshot();
+    private volatile Snapshot building;
+    private volatile boolean ready;
+    
+    public ProfileNameIndex(JdbcTemplate jdbcTemplate,
+                            @Value("${app.profiles.name-index.enabled:false}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+    
+    public boolean isServing() {
+        return enabled && ready;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+    
+    public void rebuild() {
+        rebuildLock.lock();
+        Snapshot next = new Snapshot();
+        try {
+            building = next;
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(ELIGIBLE_PROFILES_QUERY);
+                statement.setFetchSize(1000);
+                return statement;
+            }, rs -> {
+                long profileId = rs.getLong(1);
+                next.lock.lock();
+                try {
+                    if (!next.touched.contains(profileId)) {
+                        next.index(profileId, rs.getString(2), rs.getString(3));
+                    }
+                } finally {
+                    next.lock.unlock();
+                }
+            });
+            next.touched.clear();
+            snapshot = next;
+            ready = true;
+            log.info("Profile name index built: {} profiles, {} grams", next.entries.size(), next.postings.size());
+        } finally {
+            building = null;
+            rebuildLock.unlock();
+        }
+    }
+    
+    public void update(Long profileId, String firstName, String lastName, boolean eligible) {
+        if (!enabled || profileId == null) {
+            return;
+        }
+        afterCommit(() -> apply(snapshot -> {
+            snapshot.remove(profileId);
+            if (eligible) {
+                snapshot.index(profileId, firstName, lastName);
+            }
+        }, profileId));
+    }
+    
+    public void remove(Long profileId, boolean afterCommit) {
+        if (!enabled || profileId == null) {
+            return;
+        }
+        Runnable removal = () -> apply(snapshot -> snapshot.remove(profileId), profileId);
+        if (afterCommit) {
+            afterCommit(removal);
+        } else {
+            removal.run();
+        }
+    }
+    
+    public List<Long> search(String term) {
+        String query = normalize(term);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        
+        Snapshot current = snapshot;
+        Set<Long> candidates;
+        if (query.length() >= GRAM) {
+            candidates = current.candidatesFor(query);
+        } else if (query.length() == GRAM - 1) {
+            candidates = current.candidatesContaining(query);
+        } else {
+            candidates = current.entries.keySet();
+        }
+        
+        List<Match> matches = new ArrayList<>();
+        for (Long profileId : candidates) {
+            Entry entry = current.entries.get(profileId);
+            if (entry == null) {
+                continue;
+            }
+            int rank = entry.rank(query);
+            if (rank >= 0) {
+                matches.add(new Match(profileId, rank, entry.fullName.length()));
+            }
+        }
+        
+        return matches.stream()
+            .sorted(Comparator.comparingInt(Match::getRank)
+                .thenComparingInt(Match::getLength)
+                .thenComparingLong(Match::getProfileId))
+            .map(Match::getProfileId)
+            .toList();
+    }
+    
+    public int size() {
+        return snapshot.entries.size();
+    }
+    
+    private void apply(Consumer<Snapshot> change, long profileId) {
+        Snapshot next = building;
+        if (next != null) {
+            next.lock.lock();
+            try {
+                next.touched.add(profileId);
+                change.accept(next);
+            } finally {
+                next.lock.unlock();
+            }
+        }
+        Snapshot current = snapshot;
+        if (current != next) {
+            change.accept(current);
+        }
+    }
+    
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private static Set<String> grams(String value, boolean padded) {
+        Set<String> grams = new HashSet<>();
+        if (value.isEmpty()) {
+            return grams;
+        }
+        String text = padded ? BOUNDARY + value + BOUNDARY : value;
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+    
+    private static class Snapshot {
+        private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+        private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+        private final Set<Long> touched = ConcurrentHashMap.newKeySet();
+        private final ReentrantLock lock = new ReentrantLock();
+        
+        Set<Long> candidatesFor(String query) {
+            List<Set<Long>> lists = new ArrayList<>();
+            for (String gram : grams(query, false)) {
+                Set<Long> posting = postings.get(gram);
+                if (posting == null) {
+                    return Set.of();
+                }
+                lists.add(posting);
+            }
+            lists.sort(Comparator.comparingInt(Set::size));
+            
+            Set<Long> result = new HashSet<>(lists.get(0));
+            for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+                result.retainAll(lists.get(i));
+            }
+            return result;
+        }
+        
+        Set<Long> candidatesContaining(String query) {
+            Set<Long> result = new HashSet<>();
+            postings.forEach((gram, ids) -> {
+                if (gram.contains(query)) {
+                    result.addAll(ids);
+                }
+            });
+            return result;
+        }
+        
+        void index(long profileId, String firstName, String lastName) {
+            Entry entry = new Entry(normalize(firstName), normalize(lastName));
+            if (entry.first.isEmpty() && entry.last.isEmpty()) {
+                return;
+            }
+            entries.put(profileId, entry);
+            for (String gram : entry.grams()) {
+                postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(profileId);
+            }
+        }
+        
+        void remove(long profileId) {
+            Entry entry = entries.remove(profileId);
+            if (entry == null) {
+                return;
+            }
+            for (String gram : entry.grams()) {
+                postings.computeIfPresent(gram, (key, ids) -> {
+                    ids.remove(profileId);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+    }
+    
+    private static class Entry {
+        private final String first;
+        private final String last;
+        private final String fullName;
+        
+        Entry(String first, String last) {
+            this.first = first;
+            this.last = last;
+            this.fullName = first.isEmpty() ? last : last.isEmpty() ? first : first + " " + last;
+        }
+        
+        Set<String> grams() {
+            Set<String> grams = ProfileNameIndex.grams(first, true);
+            grams.addAll(ProfileNameIndex.grams(last, true));
+            return grams;
+        }
+        
+        int rank(String query) {
+            if (first.equals(query) || last.equals(query)) {
+                return 0;
+            }
+            if (first.startsWith(query) || last.startsWith(query)) {
+                return 1;
+            }
+            if (first.contains(query) || last.contains(query)) {
+                return 2;
+            }
+            return -1;
+        }
+    }
+    
+    @lombok.Value
+    private static class Match {
+        long profileId;
+        int rank;
+        int length;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.example.integration.index;
+
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public final class TimeZoneCodes {
+    
+    public static final String DEFAULT_ZONE_ID = "UTC";
+    
+    private static final Map<String, String> CANONICAL_IDS = ZoneId.getAvailableZoneIds().stream()
+        .collect(Collectors.toMap(id -> id.toLowerCase(Locale.ROOT), Function.identity(), (first, second) -> first));
+    
+    private static final Map<String, Integer> CODES = new ConcurrentHashMap<>();
+    private static final List<ZoneId> ZONES = new CopyOnWriteArrayList<>();
+    private static final ReentrantLock INTERN_LOCK = new ReentrantLock();
+    
+    private TimeZoneCodes() {
+    }
+    
+    public static String normalize(String timeZone) {
+        if (timeZone == null || timeZone.isBlank()) {
+            throw new IllegalArgumentException("Time zone must not be blank");
+        }
+        String trimmed = timeZone.trim();
+        String canonical = CANONICAL_IDS.get(trimmed.toLowerCase(Locale.ROOT));
+        if (canonical != null) {
+            return canonical;
+        }
+        try {
+            return ZoneId.of(trimmed).getId();
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Unknown time zone: " + timeZone);
+        }
+    }
+    
+    public static int code(String timeZone) {
+        String zoneId = timeZone != null ? timeZone : DEFAULT_ZONE_ID;
+        Integer code = CODES.get(zoneId);
+        return code != null ? code : intern(zoneId);
+    }
+    
+    public static ZoneId zone(int code) {
+        return ZONES.get(code);
+    }
+    
+    private static int intern(String zoneId) {
+        ZoneId zone = toZone(zoneId);
+        INTERN_LOCK.lock();
+        try {
+            Integer code = CODES.get(zone.getId());
+            if (code == null) {
+                ZONES.add(zone);
+                code = ZONES.size() - 1;
+                CODES.put(zone.getId(), code);
+            }
+            CODES.putIfAbsent(zoneId, code);
+            return code;
+        } finally {
+            INTERN_LOCK.unlock();
+        }
+    }
+    
+    private static ZoneId toZone(String zoneId) {
+        try {
+            return ZoneId.of(normalize(zoneId));
+        } catch (IllegalArgumentException e) {
+            return ZoneOffset.UTC;
+        }
+    }
+}
\ No newline at end of file
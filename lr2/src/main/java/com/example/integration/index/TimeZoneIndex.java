@@ -0,0 +1,269 @@
+package com.example.integration.index;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+@Component
+@Slf4j
+public class TimeZoneIndex {
+    
+    private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+    private static final String SETTINGS_TIME_ZONES_QUERY = "SELECT user_id, time_zone FROM settings";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Snapshot snapshot = new Snapshot();
+    private volatile Snapshot building;
+    private volatile boolean ready;
+    
+    public TimeZoneIndex(JdbcTemplate jdbcTemplate,
+                         @Value("${app.settings.time-zone-index.enabled:false}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+    
+    public boolean isServing() {
+        return enabled && ready;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+    
+    public void rebuild() {
+        rebuildLock.lock();
+        Snapshot next = new Snapshot();
+        try {
+            building = next;
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(SETTINGS_TIME_ZONES_QUERY);
+                statement.setFetchSize(1000);
+                return statement;
+            }, rs -> {
+                long userId = rs.getLong(1);
+                next.lock.lock();
+                try {
+                    if (!next.touched.contains(userId)) {
+                        next.put(userId, rs.getString(2));
+                    }
+                } finally {
+                    next.lock.unlock();
+                }
+            });
+            next.touched.clear();
+            snapshot = next;
+            ready = true;
+            log.info("Time zone index built: {} users in {} zones", next.zoneByUser.size(), next.usersByZone.size());
+        } finally {
+            building = null;
+            rebuildLock.unlock();
+        }
+    }
+    
+    public void update(Long userId, String timeZone) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        afterCommit(() -> apply(snapshot -> snapshot.put(userId, timeZone), List.of(userId)));
+    }
+    
+    public void updateAll(Collection<Long> userIds, String timeZone) {
+        if (!enabled || userIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(userIds);
+        afterCommit(() -> apply(snapshot -> ids.forEach(userId -> snapshot.put(userId, timeZone)), ids));
+    }
+    
+    public void remove(Long userId, boolean afterCommit) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        Runnable removal = () -> apply(snapshot -> snapshot.remove(userId), List.of(userId));
+        if (afterCommit) {
+            afterCommit(removal);
+        } else {
+            removal.run();
+        }
+    }
+    
+    public List<Long> findUserIdsAtLocalTime(LocalTime localTime, Instant now) {
+        return findUserIdsWithLocalTimeBetween(localTime, localTime.plusMinutes(1), now);
+    }
+    
+    public List<Long> findUserIdsWithLocalTimeBetween(LocalTime from, LocalTime to, Instant now) {
+        int fromSecond = from.toSecondOfDay();
+        int toSecond = to.toSecondOfDay();
+        long epochSecond = now.getEpochSecond();
+        Snapshot current = snapshot;
+        List<Long> userIds = new ArrayList<>();
+        current.partitionAt(now).zoneCodesByOffset.forEach((offsetSeconds, zoneCodes) -> {
+            int localSecond = (int) Math.floorMod(epochSecond + offsetSeconds, (long) SECONDS_PER_DAY);
+            boolean inWindow = fromSecond <= toSecond
+                ? localSecond >= fromSecond && localSecond < toSecond
+                : localSecond >= fromSecond || localSecond < toSecond;
+            if (inWindow) {
+                for (int zoneCode : zoneCodes) {
+                    userIds.addAll(current.usersByZone.getOrDefault(zoneCode, Set.of()));
+                }
+            }
+        });
+        return userIds;
+    }
+    
+    public Map<Integer, Integer> countByOffset(Instant now) {
+        Snapshot current = snapshot;
+        Map<Integer, Integer> counts = new HashMap<>();
+        current.partitionAt(now).zoneCodesByOffset.forEach((offsetSeconds, zoneCodes) -> {
+            int users = 0;
+            for (int zoneCode : zoneCodes) {
+                users += current.usersByZone.getOrDefault(zoneCode, Set.of()).size();
+            }
+            counts.put(offsetSeconds, users);
+        });
+        return counts;
+    }
+    
+    public int size() {
+        return snapshot.zoneByUser.size();
+    }
+    
+    private void apply(Consumer<Snapshot> change, Collection<Long> userIds) {
+        Snapshot next = building;
+        if (next != null) {
+            next.lock.lock();
+            try {
+                next.touched.addAll(userIds);
+                change.accept(next);
+            } finally {
+                next.lock.unlock();
+            }
+        }
+        Snapshot current = snapshot;
+        if (current != next) {
+            change.accept(current);
+        }
+    }
+    
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    private static class Snapshot {
+        private final Map<Integer, Set<Long>> usersByZone = new ConcurrentHashMap<>();
+        private final Map<Long, Integer> zoneByUser = new ConcurrentHashMap<>();
+        private final Set<Long> touched = ConcurrentHashMap.newKeySet();
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile Partition partition;
+        
+        Partition partitionAt(Instant now) {
+            Partition current = partition;
+            if (current != null && current.covers(now) && current.zoneCount() == usersByZone.size()) {
+                return current;
+            }
+            Partition rebuilt = Partition.of(usersByZone.keySet(), now);
+            partition = rebuilt;
+            return rebuilt;
+        }
+        
+        void put(long userId, String timeZone) {
+            int zoneCode = TimeZoneCodes.code(timeZone);
+            zoneByUser.compute(userId, (id, previous) -> {
+                if (previous != null && previous != zoneCode) {
+                    usersByZone.getOrDefault(previous, Set.of()).remove(userId);
+                }
+                usersByZone.computeIfAbsent(zoneCode, code -> ConcurrentHashMap.newKeySet()).add(userId);
+                return zoneCode;
+            });
+        }
+        
+        void remove(long userId) {
+            zoneByUser.computeIfPresent(userId, (id, zoneCode) -> {
+                usersByZone.getOrDefault(zoneCode, Set.of()).remove(userId);
+                return null;
+            });
+        }
+    }
+    
+    private static class Partition {
+        private final Instant validFrom;
+        private final Instant validUntil;
+        private final Set<Integer> zoneCodes;
+        private final Map<Integer, int[]> zoneCodesByOffset;
+        
+        private Partition(Instant validFrom, Instant validUntil, Set<Integer> zoneCodes,
+                          Map<Integer, int[]> zoneCodesByOffset) {
+            this.validFrom = validFrom;
+            this.validUntil = validUntil;
+            this.zoneCodes = zoneCodes;
+            this.zoneCodesByOffset = zoneCodesByOffset;
+        }
+        
+        static Partition of(Collection<Integer> zoneCodesInUse, Instant now) {
+            Set<Integer> zoneCodes = Set.copyOf(zoneCodesInUse);
+            Instant validFrom = Instant.MIN;
+            Instant validUntil = Instant.MAX;
+            Map<Integer, List<Integer>> grouped = new HashMap<>();
+            for (int zoneCode : zoneCodes) {
+                ZoneId zone = TimeZoneCodes.zone(zoneCode);
+                ZoneRules rules = zone.getRules();
+                grouped.computeIfAbsent(rules.getOffset(now).getTotalSeconds(), offset -> new ArrayList<>())
+                    .add(zoneCode);
+                ZoneOffsetTransition previous = rules.previousTransition(now.plusNanos(1));
+                if (previous != null && previous.getInstant().isAfter(validFrom)) {
+                    validFrom = previous.getInstant();
+                }
+                ZoneOffsetTransition next = rules.nextTransition(now);
+                if (next != null && next.getInstant().isBefore(validUntil)) {
+                    validUntil = next.getInstant();
+                }
+            }
+            Map<Integer, int[]> byOffset = new HashMap<>();
+            grouped.forEach((offset, codes) -> byOffset.put(offset, codes.stream().mapToInt(Integer::intValue).toArray()));
+            return new Partition(validFrom, validUntil, zoneCodes, byOffset);
+        }
+        
+        boolean covers(Instant now) {
+            return !now.isBefore(validFrom) && now.isBefore(validUntil);
+        }
+        
+        int zoneCount() {
+            return zoneCodes.size();
+        }
+    }
+}
\ No newline at end of file
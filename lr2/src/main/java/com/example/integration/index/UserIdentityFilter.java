@@ -0,0 +1,174 @@
+package com.example.integration.index;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@Slf4j
+public class UserIdentityFilter {
+    
+    private static final String USERNAME_PREFIX = "u:";
+    private static final String EMAIL_PREFIX = "e:";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    
+    private final LongAdder negatives = new LongAdder();
+    private final LongAdder possibleHits = new LongAdder();
+    private final LongAdder confirmedHits = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final LongAdder staleEntries = new LongAdder();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final ConcurrentHashMap<String, Integer> uncommitted = new ConcurrentHashMap<>();
+    
+    private volatile BloomFilter filter;
+    private volatile BloomFilter rebuilding;
+    private volatile boolean ready;
+    
+    public UserIdentityFilter(JdbcTemplate jdbcTemplate,
+                              @Value("${app.users.identity-filter.enabled:true}") boolean enabled,
+                              @Value("${app.users.identity-filter.expected-insertions:2000000}") long expectedInsertions,
+                              @Value("${app.users.identity-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+    
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            BloomFilter fresh = new BloomFilter(expectedInsertions, falsePositiveRate);
+            rebuilding = fresh;
+            try {
+                uncommitted.keySet().forEach(fresh::put);
+                jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement("SELECT username, email FROM users");
+                    statement.setFetchSize(1000);
+                    return statement;
+                }, rs -> {
+                    fresh.put(USERNAME_PREFIX + rs.getString(1));
+                    fresh.put(EMAIL_PREFIX + rs.getString(2));
+                });
+                filter = fresh;
+                staleEntries.reset();
+                ready = true;
+                log.info("User identity filter built: {} keys, {} bits, {} hash functions, {} bytes",
+                    fresh.getInsertions(), fresh.getBitCount(), fresh.getHashFunctions(), fresh.getMemoryBytes());
+            } finally {
+                rebuilding = null;
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+    
+    public boolean mightContainUsername(String username) {
+        return mightContain(USERNAME_PREFIX + username);
+    }
+    
+    public boolean mightContainEmail(String email) {
+        return mightContain(EMAIL_PREFIX + email);
+    }
+    
+    public void recordConfirmation(boolean exists) {
+        if (exists) {
+            confirmedHits.increment();
+        } else {
+            falsePositives.increment();
+        }
+    }
+    
+    public void add(String username, String email) {
+        List<String> keys = List.of(USERNAME_PREFIX + username, EMAIL_PREFIX + email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            keys.forEach(key -> uncommitted.merge(key, 1, Integer::sum));
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    keys.forEach(key -> uncommitted.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1));
+                }
+            });
+        }
+        keys.forEach(this::put);
+    }
+    
+    public void recordRemoval() {
+        staleEntries.add(2);
+    }
+    
+    public FilterStats getStats() {
+        BloomFilter current = filter;
+        return FilterStats.builder()
+            .enabled(enabled)
+            .ready(ready)
+            .keys(current.getInsertions())
+            .staleKeys(staleEntries.sum())
+            .bitCount(current.getBitCount())
+            .hashFunctions(current.getHashFunctions())
+            .memoryBytes(current.getMemoryBytes())
+            .negatives(negatives.sum())
+            .possibleHits(possibleHits.sum())
+            .confirmedHits(confirmedHits.sum())
+            .falsePositives(falsePositives.sum())
+            .build();
+    }
+    
+    private boolean mightContain(String key) {
+        if (!enabled || !ready) {
+            return true;
+        }
+        if (filter.mightContain(key)) {
+            possibleHits.increment();
+            return true;
+        }
+        negatives.increment();
+        return false;
+    }
+    
+    private void put(String key) {
+        BloomFilter pending = rebuilding;
+        filter.put(key);
+        if (pending != null) {
+            pending.put(key);
+        }
+    }
+    
+    @lombok.Data
+    @lombok.Builder
+    public static class FilterStats {
+        private boolean enabled;
+        private boolean ready;
+        private long keys;
+        private long staleKeys;
+        private long bitCount;
+        private int hashFunctions;
+        private long memoryBytes;
+        private long negatives;
+        private long possibleHits;
+        private long confirmedHits;
+        private long falsePositives;
+    }
+}
\ No newline at end of file
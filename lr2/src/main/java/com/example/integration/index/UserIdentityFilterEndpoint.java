@@ -0,0 +1,26 @@
+package com.example.integration.index;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "identityfilter")
+@RequiredArgsConstructor
+public class UserIdentityFilterEndpoint {
+    
+    private final UserIdentityFilter userIdentityFilter;
+    
+    @ReadOperation
+    public UserIdentityFilter.FilterStats stats() {
+        return userIdentityFilter.getStats();
+    }
+    
+    @WriteOperation
+    public UserIdentityFilter.FilterStats rebuild() {
+        userIdentityFilter.rebuild();
+        return userIdentityFilter.getStats();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,134 @@
+package com.example.integration.metrics;
+
+import com.example.integration.cache.SecondLevelCacheConfiguration;
+import com.example.integration.cache.SecondLevelCacheStatistics;
+import com.example.integration.cache.UserDetailsCache;
+import com.example.integration.controller.AsyncRequestExecutor;
+import com.example.integration.entity.Settings;
+import com.example.integration.index.TimeZoneIndex;
+import com.example.integration.index.UserIdentityFilter;
+import com.example.integration.notification.NotificationDispatcher;
+import com.example.integration.service.SettingsWriteBehindBuffer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+public class ApplicationMetrics implements MeterBinder {
+    
+    private final AsyncRequestExecutor asyncRequestExecutor;
+    private final UserDetailsCache userDetailsCache;
+    private final SecondLevelCacheStatistics secondLevelCacheStatistics;
+    private final SettingsWriteBehindBuffer settingsWriteBehindBuffer;
+    private final NotificationDispatcher notificationDispatcher;
+    private final TimeZoneIndex timeZoneIndex;
+    private final UserIdentityFilter userIdentityFilter;
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("app.request.executor.active", asyncRequestExecutor, executor -> executor.getStats().getActiveThreads())
+            .register(registry);
+        Gauge.builder("app.request.executor.queued", asyncRequestExecutor, executor -> executor.getStats().getQueueDepth())
+            .register(registry);
+        Gauge.builder("app.request.executor.wait.max", asyncRequestExecutor, executor -> executor.getStats().getMaxWaitMillis())
+            .baseUnit("milliseconds")
+            .register(registry);
+        FunctionCounter.builder("app.request.executor.completed", asyncRequestExecutor, executor -> executor.getStats().getCompleted())
+            .register(registry);
+        FunctionCounter.builder("app.request.executor.rejected", asyncRequestExecutor, executor -> executor.getStats().getRejected())
+            .register(registry);
+        
+        Gauge.builder("app.users.details.cache.size", userDetailsCache, cache -> cache.getStats().getSize())
+            .register(registry);
+        FunctionCounter.builder("app.users.details.cache.requests", userDetailsCache, cache -> cache.getStats().getHits())
+            .tag("result", "hit")
+            .register(registry);
+        FunctionCounter.builder("app.users.details.cache.requests", userDetailsCache, cache -> cache.getStats().getMisses())
+            .tag("result", "miss")
+            .register(registry);
+        FunctionCounter.builder("app.users.details.cache.evictions", userDetailsCache, cache -> cache.getStats().getEvictions())
+            .register(registry);
+        FunctionCounter.builder("app.users.details.cache.stale.puts", userDetailsCache, cache -> cache.getStats().getStalePuts())
+            .register(registry);
+        
+        Stream.concat(SecondLevelCacheConfiguration.ENTITY_REGIONS.stream(), SecondLevelCacheConfiguration.QUERY_REGIONS.stream())
+            .forEach(region -> {
+                FunctionCounter.builder("app.second.level.cache.requests", secondLevelCacheStatistics,
+                        statistics -> regionCount(statistics, region, SecondLevelCacheStatistics.RegionStats::getHits))
+                    .tag("region", region)
+                    .tag("result", "hit")
+                    .register(registry);
+                FunctionCounter.builder("app.second.level.cache.requests", secondLevelCacheStatistics,
+                        statistics -> regionCount(statistics, region, SecondLevelCacheStatistics.RegionStats::getMisses))
+                    .tag("region", region)
+                    .tag("result", "miss")
+                    .register(registry);
+                FunctionCounter.builder("app.second.level.cache.puts", secondLevelCacheStatistics,
+                        statistics -> regionCount(statistics, region, SecondLevelCacheStatistics.RegionStats::getPuts))
+                    .tag("region", region)
+                    .register(registry);
+            });
+        
+        Gauge.builder("app.users.identity.filter.keys", userIdentityFilter, filter -> filter.getStats().getKeys())
+            .register(registry);
+        Gauge.builder("app.users.identity.filter.stale.keys", userIdentityFilter, filter -> filter.getStats().getStaleKeys())
+            .register(registry);
+        Gauge.builder("app.users.identity.filter.memory", userIdentityFilter, filter -> filter.getStats().getMemoryBytes())
+            .baseUnit("bytes")
+            .register(registry);
+        FunctionCounter.builder("app.users.identity.filter.lookups", userIdentityFilter, filter -> filter.getStats().getNegatives())
+            .tag("result", "negative")
+            .register(registry);
+        FunctionCounter.builder("app.users.identity.filter.lookups", userIdentityFilter, filter -> filter.getStats().getPossibleHits())
+            .tag("result", "possible_hit")
+            .register(registry);
+        FunctionCounter.builder("app.users.identity.filter.confirmations", userIdentityFilter, filter -> filter.getStats().getConfirmedHits())
+            .tag("result", "confirmed_hit")
+            .register(registry);
+        FunctionCounter.builder("app.users.identity.filter.confirmations", userIdentityFilter, filter -> filter.getStats().getFalsePositives())
+            .tag("result", "false_positive")
+            .register(registry);
+        
+        Gauge.builder("app.settings.write.behind.pending", settingsWriteBehindBuffer, buffer -> buffer.getStats().getPendingUsers())
+            .register(registry);
+        FunctionCounter.builder("app.settings.write.behind.flushed", settingsWriteBehindBuffer, buffer -> buffer.getStats().getFlushedUsers())
+            .register(registry);
+        FunctionCounter.builder("app.settings.write.behind.failures", settingsWriteBehindBuffer, buffer -> buffer.getStats().getFailures())
+            .register(registry);
+        
+        Gauge.builder("app.settings.time.zone.index.size", timeZoneIndex, TimeZoneIndex::size)
+            .register(registry);
+        
+        for (Settings.NotificationFrequency frequency : Settings.NotificationFrequency.values()) {
+            Gauge.builder("app.notifications.pending", notificationDispatcher,
+                    dispatcher -> dispatcher.getStats().getPendingDigests().getOrDefault(frequency, 0))
+                .tag("frequency", frequency.name())
+                .register(registry);
+        }
+        FunctionCounter.builder("app.notifications.dispatched", notificationDispatcher, dispatcher -> dispatcher.getStats().getDispatched())
+            .register(registry);
+        FunctionCounter.builder("app.notifications.dropped", notificationDispatcher, dispatcher -> dispatcher.getStats().getDropped())
+            .register(registry);
+        FunctionCounter.builder("app.notifications.failures", notificationDispatcher, dispatcher -> dispatcher.getStats().getFailures())
+            .register(registry);
+        FunctionCounter.builder("app.notifications.retried", notificationDispatcher, dispatcher -> dispatcher.getStats().getRetried())
+            .register(registry);
+        FunctionCounter.builder("app.notifications.abandoned", notificationDispatcher, dispatcher -> dispatcher.getStats().getAbandoned())
+            .register(registry);
+    }
+    
+    private static long regionCount(SecondLevelCacheStatistics statistics, String region,
+                                    ToLongFunction<SecondLevelCacheStatistics.RegionStats> count) {
+        return statistics.getRegionStats().stream()
+            .filter(stats -> stats.getRegion().equals(region))
+            .mapToLong(count)
+            .sum();
+    }
+}
\ No newline at end of file
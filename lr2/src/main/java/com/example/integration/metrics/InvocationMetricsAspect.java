@@ -0,0 +1,61 @@
+package com.example.integration.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class InvocationMetricsAspect {
+    
+    public static final String SERVICE_METRIC = "app.service.invocations";
+    
+    private final MeterRegistry meterRegistry;
+    private final String repositoryMetric;
+    
+    public InvocationMetricsAspect(MeterRegistry meterRegistry,
+                                   @Value("${management.metrics.data.repository.metric-name:spring.data.repository.invocations}") String repositoryMetric) {
+        this.meterRegistry = meterRegistry;
+        this.repositoryMetric = repositoryMetric;
+    }
+    
+    @Around("execution(public * com.example.integration..*(..)) && @within(org.springframework.stereotype.Service)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, SERVICE_METRIC, "service", "outcome");
+    }
+    
+    @Around("execution(public * com.example.integration.repository..*(..)) "
+        + "&& @within(org.springframework.stereotype.Repository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (joinPoint.getTarget() instanceof Repository) {
+            return joinPoint.proceed();
+        }
+        return time(joinPoint, repositoryMetric, "repository", "state");
+    }
+    
+    private Object time(ProceedingJoinPoint joinPoint, String metric, String typeTag, String outcomeTag) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Throwable failure = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer(metric, Tags.of(
+                typeTag, joinPoint.getSignature().getDeclaringType().getSimpleName(),
+                "method", joinPoint.getSignature().getName(),
+                outcomeTag, failure == null ? "SUCCESS" : "ERROR",
+                "exception", failure == null ? "None" : failure.getClass().getSimpleName())));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.example.integration.notification;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+@Slf4j
+public class InMemoryNotificationSender implements NotificationSender {
+    
+    private final List<Batch> batches = new CopyOnWriteArrayList<>();
+    
+    @Override
+    public void send(NotificationChannel channel, List<NotificationDigest> digests) {
+        batches.add(new Batch(channel, List.copyOf(digests)));
+        log.debug("Recorded {} {} digests", digests.size(), channel);
+    }
+    
+    public List<Batch> getBatches() {
+        return List.copyOf(batches);
+    }
+    
+    public List<NotificationDigest> getSent(NotificationChannel channel) {
+        return getBatches().stream()
+            .filter(batch -> batch.getChannel() == channel)
+            .flatMap(batch -> batch.getDigests().stream())
+            .collect(Collectors.toList());
+    }
+    
+    public void clear() {
+        batches.clear();
+    }
+    
+    @lombok.Value
+    public static class Batch {
+        NotificationChannel channel;
+        List<NotificationDigest> digests;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,5 @@
+package com.example.integration.notification;
+
+public enum NotificationChannel {
+    EMAIL, PUSH, SMS
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.example.integration.notification;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class NotificationConfiguration {
+    
+    @Bean
+    @ConditionalOnMissingBean(NotificationSender.class)
+    public InMemoryNotificationSender inMemoryNotificationSender() {
+        return new InMemoryNotificationSender();
+    }
+}
\ No newline at end of file
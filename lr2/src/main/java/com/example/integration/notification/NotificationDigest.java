@@ -0,0 +1,26 @@
+package com.example.integration.notification;
+
+import com.example.integration.entity.Settings;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationDigest {
+    
+    private Long userId;
+    private String username;
+    private String email;
+    private NotificationChannel channel;
+    private Settings.NotificationFrequency frequency;
+    private String timeZone;
+    private Instant scheduledFor;
+    private List<String> messages;
+}
\ No newline at end of file
@@ -0,0 +1,325 @@
+package com.example.integration.notification;
+
+import com.example.integration.entity.Settings;
+import com.example.integration.repository.SettingsRepository;
+import com.example.integration.repository.projection.NotificationRecipientView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@Slf4j
+public class NotificationDispatcher {
+    
+    private final SettingsRepository settingsRepository;
+    private final NotificationSender notificationSender;
+    private final NotificationSchedule schedule;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    
+    private final Map<Settings.NotificationFrequency, NavigableMap<Instant, Map<Long, List<String>>>> buckets =
+        new EnumMap<>(Settings.NotificationFrequency.class);
+    private final NavigableMap<Instant, List<FailedBatch>> retries = new TreeMap<>();
+    private final ReentrantLock queueLock = new ReentrantLock();
+    
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder dispatched = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder abandoned = new LongAdder();
+    
+    public NotificationDispatcher(SettingsRepository settingsRepository,
+                                  NotificationSender notificationSender,
+                                  @Value("${app.notifications.enabled:false}") boolean enabled,
+                                  @Value("${app.notifications.digest-time:08:00}") String digestTime,
+                                  @Value("${app.notifications.weekly-day:MONDAY}") DayOfWeek weeklyDay,
+                                  @Value("${app.notifications.spread:60m}") Duration spread,
+                                  @Value("${app.notifications.chunk-size:1000}") int chunkSize,
+                                  @Value("${app.notifications.batch-size:500}") int batchSize,
+                                  @Value("${app.notifications.max-attempts:3}") int maxAttempts,
+                                  @Value("${app.notifications.retry-delay:1m}") Duration retryDelay) {
+        this.settingsRepository = settingsRepository;
+        this.notificationSender = notificationSender;
+        this.schedule = new NotificationSchedule(LocalTime.parse(digestTime), weeklyDay, spread);
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+        for (Settings.NotificationFrequency frequency : Settings.NotificationFrequency.values()) {
+            buckets.put(frequency, new TreeMap<>());
+        }
+    }
+    
+    public boolean publish(Long userId, String message) {
+        return publish(userId, message, Instant.now());
+    }
+    
+    public boolean publish(Long userId, String message, Instant now) {
+        if (!enabled) {
+            return false;
+        }
+        Optional<NotificationRecipientView> recipient =
+            settingsRepository.findNotificationRecipientsByUserIdIn(List.of(userId)).stream().findFirst();
+        recipient.ifPresent(view -> enqueue(view, message, now));
+        return recipient.isPresent();
+    }
+    
+    public long broadcast(String message) {
+        return broadcast(message, Instant.now());
+    }
+    
+    public long broadcast(String message, Instant now) {
+        if (!enabled) {
+            return 0;
+        }
+        long recipients = 0;
+        Long afterId = 0L;
+        while (true) {
+            List<NotificationRecipientView> chunk =
+                settingsRepository.findNotificationRecipientsAfter(afterId, PageRequest.of(0, chunkSize));
+            for (NotificationRecipientView recipient : chunk) {
+                enqueue(recipient, message, now);
+            }
+            recipients += chunk.size();
+            if (chunk.size() < chunkSize) {
+                return recipients;
+            }
+            afterId = chunk.get(chunk.size() - 1).getUserId();
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${app.notifications.dispatch-interval-ms:60000}",
+               initialDelayString = "${app.notifications.dispatch-interval-ms:60000}")
+    public void scheduledDispatch() {
+        if (enabled) {
+            dispatch(Instant.now());
+        }
+    }
+    
+    public int dispatch(Instant now) {
+        List<DueDigest> due = drain(now);
+        List<FailedBatch> retrying = drainRetries(now);
+        if (due.isEmpty() && retrying.isEmpty()) {
+            return 0;
+        }
+        
+        Map<Long, NotificationRecipientView> recipients = resolveRecipients(due);
+        Map<NotificationChannel, List<NotificationDigest>> byChannel = new EnumMap<>(NotificationChannel.class);
+        for (DueDigest digest : due) {
+            NotificationRecipientView recipient = recipients.get(digest.getUserId());
+            if (recipient == null) {
+                dropped.increment();
+                continue;
+            }
+            for (NotificationChannel channel : channelsOf(recipient)) {
+                byChannel.computeIfAbsent(channel, key -> new ArrayList<>()).add(NotificationDigest.builder()
+                    .userId(recipient.getUserId())
+                    .username(recipient.getUsername())
+                    .email(recipient.getEmail())
+                    .channel(channel)
+                    .frequency(digest.getFrequency())
+                    .timeZone(recipient.getTimeZone())
+                    .scheduledFor(digest.getScheduledFor())
+                    .messages(digest.getMessages())
+                    .build());
+            }
+        }
+        
+        int sent = 0;
+        for (FailedBatch batch : retrying) {
+            sent += send(batch.getChannel(), batch.getDigests(), batch.getAttempt(), now);
+        }
+        for (Map.Entry<NotificationChannel, List<NotificationDigest>> entry : byChannel.entrySet()) {
+            List<NotificationDigest> digests = entry.getValue();
+            for (int from = 0; from < digests.size(); from += batchSize) {
+                sent += send(entry.getKey(), digests.subList(from, Math.min(from + batchSize, digests.size())), 1, now);
+            }
+        }
+        dispatched.add(sent);
+        return sent;
+    }
+    
+    public DispatchStats getStats() {
+        Map<Settings.NotificationFrequency, Integer> pending = new EnumMap<>(Settings.NotificationFrequency.class);
+        int pendingRetries;
+        queueLock.lock();
+        try {
+            buckets.forEach((frequency, queue) -> pending.put(frequency,
+                queue.values().stream().mapToInt(Map::size).sum()));
+            pendingRetries = retries.values().stream()
+                .flatMap(List::stream)
+                .mapToInt(batch -> batch.getDigests().size())
+                .sum();
+        } finally {
+            queueLock.unlock();
+        }
+        return DispatchStats.builder()
+            .enabled(enabled)
+            .pendingDigests(pending)
+            .pendingRetries(pendingRetries)
+            .queued(queued.sum())
+            .dispatched(dispatched.sum())
+            .dropped(dropped.sum())
+            .batches(batches.sum())
+            .failures(failures.sum())
+            .retried(retried.sum())
+            .abandoned(abandoned.sum())
+            .build();
+    }
+    
+    private int send(NotificationChannel channel, List<NotificationDigest> batch, int attempt, Instant now) {
+        try {
+            notificationSender.send(channel, batch);
+            batches.increment();
+            return batch.size();
+        } catch (RuntimeException e) {
+            failures.increment();
+            if (attempt >= maxAttempts) {
+                abandoned.add(batch.size());
+                log.error("Giving up on {} {} notification digests after {} attempts", batch.size(), channel, attempt, e);
+                return 0;
+            }
+            Instant retryAt = now.plus(retryDelay);
+            queueLock.lock();
+            try {
+                retries.computeIfAbsent(retryAt, key -> new ArrayList<>())
+                    .add(new FailedBatch(channel, List.copyOf(batch), attempt + 1));
+            } finally {
+                queueLock.unlock();
+            }
+            retried.add(batch.size());
+            log.warn("Failed to send {} {} notification digests, retrying at {}", batch.size(), channel, retryAt, e);
+            return 0;
+        }
+    }
+    
+    private void enqueue(NotificationRecipientView recipient, String message, Instant now) {
+        Settings.NotificationFrequency frequency = recipient.getNotificationFrequency();
+        Instant dueAt = schedule.nextDispatch(frequency, recipient.getTimeZone(), recipient.getUserId(), now);
+        Instant bucket = dueAt.truncatedTo(ChronoUnit.MINUTES);
+        queueLock.lock();
+        try {
+            buckets.get(frequency)
+                .computeIfAbsent(bucket, key -> new LinkedHashMap<>())
+                .computeIfAbsent(recipient.getUserId(), key -> new ArrayList<>())
+                .add(message);
+        } finally {
+            queueLock.unlock();
+        }
+        queued.increment();
+    }
+    
+    private List<DueDigest> drain(Instant now) {
+        List<DueDigest> due = new ArrayList<>();
+        queueLock.lock();
+        try {
+            buckets.forEach((frequency, queue) -> {
+                Map.Entry<Instant, Map<Long, List<String>>> bucket;
+                while ((bucket = queue.firstEntry()) != null && !bucket.getKey().isAfter(now)) {
+                    queue.pollFirstEntry();
+                    Instant scheduledFor = bucket.getKey();
+                    bucket.getValue().forEach((userId, messages) ->
+                        due.add(new DueDigest(userId, frequency, scheduledFor, List.copyOf(messages))));
+                }
+            });
+        } finally {
+            queueLock.unlock();
+        }
+        return due;
+    }
+    
+    private List<FailedBatch> drainRetries(Instant now) {
+        List<FailedBatch> due = new ArrayList<>();
+        queueLock.lock();
+        try {
+            Map.Entry<Instant, List<FailedBatch>> bucket;
+            while ((bucket = retries.firstEntry()) != null && !bucket.getKey().isAfter(now)) {
+                retries.pollFirstEntry();
+                due.addAll(bucket.getValue());
+            }
+        } finally {
+            queueLock.unlock();
+        }
+        return due;
+    }
+    
+    private Map<Long, NotificationRecipientView> resolveRecipients(List<DueDigest> due) {
+        List<Long> userIds = due.stream().map(DueDigest::getUserId).distinct().toList();
+        Map<Long, NotificationRecipientView> recipients = new HashMap<>();
+        for (int from = 0; from < userIds.size(); from += chunkSize) {
+            settingsRepository.findNotificationRecipientsByUserIdIn(
+                    userIds.subList(from, Math.min(from + chunkSize, userIds.size())))
+                .forEach(recipient -> recipients.put(recipient.getUserId(), recipient));
+        }
+        return recipients;
+    }
+    
+    private static List<NotificationChannel> channelsOf(NotificationRecipientView recipient) {
+        List<NotificationChannel> channels = new ArrayList<>();
+        if (Boolean.TRUE.equals(recipient.getEmailNotifications())) {
+            channels.add(NotificationChannel.EMAIL);
+        }
+        if (Boolean.TRUE.equals(recipient.getPushNotifications())) {
+            channels.add(NotificationChannel.PUSH);
+        }
+        if (Boolean.TRUE.equals(recipient.getSmsNotifications())) {
+            channels.add(NotificationChannel.SMS);
+        }
+        return channels;
+    }
+    
+    @lombok.Value
+    private static class DueDigest {
+        Long userId;
+        Settings.NotificationFrequency frequency;
+        Instant scheduledFor;
+        List<String> messages;
+    }
+    
+    @lombok.Value
+    private static class FailedBatch {
+        NotificationChannel channel;
+        List<NotificationDigest> digests;
+        int attempt;
+    }
+    
+    @lombok.Data
+    @lombok.Builder
+    public static class DispatchStats {
+        private boolean enabled;
+        private Map<Settings.NotificationFrequency, Integer> pendingDigests;
+        private int pendingRetries;
+        private long queued;
+        private long dispatched;
+        private long dropped;
+        private long batches;
+        private long failures;
+        private long retried;
+        private long abandoned;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.example.integration.notification;
+
+import com.example.integration.entity.Settings;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+public class NotificationSchedule {
+    
+    private static final long JITTER_MIX = 0x9E3779B97F4A7C15L;
+    
+    private final LocalTime digestTime;
+    private final DayOfWeek weeklyDay;
+    private final long spreadSeconds;
+    
+    public NotificationSchedule(LocalTime digestTime, DayOfWeek weeklyDay, Duration spread) {
+        this.digestTime = digestTime;
+        this.weeklyDay = weeklyDay;
+        this.spreadSeconds = Math.max(1, spread.getSeconds());
+    }
+    
+    public Instant nextDispatch(Settings.NotificationFrequency frequency, String timeZone, Long userId, Instant now) {
+        ZonedDateTime localNow = now.atZone(zoneOf(timeZone));
+        switch (frequency) {
+            case IMMEDIATE:
+                return now;
+            case HOURLY: {
+                Duration jitter = jitter(userId, Math.min(spreadSeconds, ChronoUnit.HOURS.getDuration().getSeconds()));
+                ZonedDateTime candidate = localNow.truncatedTo(ChronoUnit.HOURS).plus(jitter);
+                return (candidate.isAfter(localNow) ? candidate : candidate.plusHours(1)).toInstant();
+            }
+            case DAILY: {
+                ZonedDateTime candidate = ZonedDateTime.of(localNow.toLocalDate(), digestTime, localNow.getZone())
+                    .plus(jitter(userId, spreadSeconds));
+                return (candidate.isAfter(localNow) ? candidate : candidate.plusDays(1)).toInstant();
+            }
+            case WEEKLY: {
+                ZonedDateTime candidate = ZonedDateTime.of(
+                        localNow.toLocalDate().with(TemporalAdjusters.nextOrSame(weeklyDay)), digestTime, localNow.getZone())
+                    .plus(jitter(userId, spreadSeconds));
+                return (candidate.isAfter(localNow) ? candidate : candidate.plusWeeks(1)).toInstant();
+            }
+            default:
+                throw new IllegalArgumentException("Notifications are not scheduled for frequency " + frequency);
+        }
+    }
+    
+    static ZoneId zoneOf(String timeZone) {
+        if (timeZone == null) {
+            return ZoneOffset.UTC;
+        }
+        try {
+            return ZoneId.of(timeZone);
+        } catch (DateTimeException e) {
+            return ZoneOffset.UTC;
+        }
+    }
+    
+    private static Duration jitter(Long userId, long windowSeconds) {
+        long mixed = (userId != null ? userId : 0L) * JITTER_MIX;
+        return Duration.ofSeconds(Math.floorMod(mixed ^ (mixed >>> 29), windowSeconds));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.example.integration.notification;
+
+import java.util.List;
+
+public interface NotificationSender {
+    
+    void send(NotificationChannel channel, List<NotificationDigest> digests);
+}
\ No newline at end of file
@@ -1,20 +1,39 @@
 package com.example.integration.repository;
 
+import com.example.integration.cache.SecondLevelCacheConfiguration;
 import com.example.integration.entity.Profile;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+
 @Repository
 public interface ProfileRepository extends JpaRepository<Profile, Long> {
     
+    @QueryHints({
+        @QueryHint(name = HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HINT_CACHE_REGION, value = SecondLevelCacheConfiguration.PROFILES_QUERY_REGION)
+    })
     Optional<Profile> findByUserId(Long userId);
     
+    @Query("SELECT p FROM Profile p JOIN FETCH p.user u LEFT JOIN FETCH u.settings WHERE u.id = :userId")
+    Optional<Profile> findWithUserByUserId(@Param("userId") Long userId);
+    
+    @QueryHints({
+        @QueryHint(name = HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HINT_CACHE_REGION, value = SecondLevelCacheConfiguration.PROFILES_QUERY_REGION)
+    })
     @Query("SELECT p FROM Profile p JOIN p.user u WHERE u.username = :username")
     Optional<Profile> findByUserUsername(@Param("username") String username);
     
@@ -42,4 +61,30 @@ public interface ProfileRepository extends JpaRepository<Profile, Long> {
     
     @Query("SELECT p FROM Profile p JOIN FETCH p.user WHERE p.isPublic = true")
     List<Profile> findPublicProfilesWithUserDetails();
+    
+    @Query("SELECT p FROM Profile p JOIN FETCH p.user u LEFT JOIN FETCH u.settings " +
+           "WHERE p.isPublic = true AND u.status = 'ACTIVE'")
+    List<Profile> findPublicProfilesOfActiveUsers();
+    
+    @Query("SELECT p FROM Profile p JOIN FETCH p.user u LEFT JOIN FETCH u.settings " +
+           "WHERE p.isPublic = true AND u.status = 'ACTIVE' AND (" +
+           "LOWER(p.firstName) LIKE LOWER(CONCAT('%', :name, '%')) OR " +
+           "LOWER(p.lastName) LIKE LOWER(CONCAT('%', :name, '%')))")
+    List<Profile> searchPublicProfilesOfActiveUsersByName(@Param("name") String name);
+    
+    @Query("SELECT p FROM Profile p JOIN FETCH p.user u LEFT JOIN FETCH u.settings " +
+           "WHERE p.isPublic = true AND u.status = 'ACTIVE' " +
+           "AND p.birthDate BETWEEN :startDate AND :endDate")
+    List<Profile> findPublicProfilesOfActiveUsersByBirthDateBetween(@Param("startDate") LocalDate startDate,
+                                                                   @Param("endDate") LocalDate endDate);
+    
+    @Query("SELECT p FROM Profile p JOIN FETCH p.user u LEFT JOIN FETCH u.settings " +
+           "WHERE p.isPublic = true AND u.status = 'ACTIVE' " +
+           "AND p.birthDate BETWEEN :startDate AND :endDate ORDER BY p.birthDate, p.id")
+    List<Profile> findPublicProfilesOfActiveUsersByBirthDateBetween(@Param("startDate") LocalDate startDate,
+                                                                   @Param("endDate") LocalDate endDate,
+                                                                   Pageable pageable);
+    
+    @Query("SELECT p FROM Profile p JOIN FETCH p.user u LEFT JOIN FETCH u.settings WHERE p.id IN :ids")
+    List<Profile> findAllWithUserByIdIn(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -1,19 +1,37 @@
 package com.example.integration.repository;
 
+import com.example.integration.cache.SecondLevelCacheConfiguration;
 import com.example.integration.entity.Settings;
+import com.example.integration.repository.projection.NotificationRecipientView;
+import com.example.integration.repository.projection.SettingsGroupView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+
 @Repository
 public interface SettingsRepository extends JpaRepository<Settings, Long> {
     
+    @QueryHints({
+        @QueryHint(name = HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HINT_CACHE_REGION, value = SecondLevelCacheConfiguration.SETTINGS_QUERY_REGION)
+    })
     Optional<Settings> findByUserId(Long userId);
     
+    @QueryHints({
+        @QueryHint(name = HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HINT_CACHE_REGION, value = SecondLevelCacheConfiguration.SETTINGS_QUERY_REGION)
+    })
     @Query("SELECT s FROM Settings s JOIN s.user u WHERE u.username = :username")
     Optional<Settings> findByUserUsername(@Param("username") String username);
     
@@ -36,10 +54,37 @@ public interface SettingsRepository extends JpaRepository<Settings, Long> {
     
     Long countByTheme(Settings.Theme theme);
     
+    @Query("SELECT s.theme AS theme, s.languageCode AS languageCode, s.timeZone AS timeZone, " +
+           "s.notificationFrequency AS notificationFrequency, s.emailNotifications AS emailNotifications, " +
+           "s.pushNotifications AS pushNotifications, s.smsNotifications AS smsNotifications, " +
+           "s.twoFactorEnabled AS twoFactorEnabled, COUNT(s) AS total FROM Settings s " +
+           "GROUP BY s.theme, s.languageCode, s.timeZone, s.notificationFrequency, " +
+           "s.emailNotifications, s.pushNotifications, s.smsNotifications, s.twoFactorEnabled")
+    List<SettingsGroupView> aggregateSettingsGroups();
+    
     @Query("SELECT s FROM Settings s JOIN FETCH s.user u WHERE " +
            "s.emailNotifications = true OR s.pushNotifications = true OR s.smsNotifications = true")
     List<Settings> findSettingsWithNotificationsEnabled();
     
+    @Query("SELECT u.id AS userId, u.username AS username, u.email AS email, s.timeZone AS timeZone, " +
+           "s.notificationFrequency AS notificationFrequency, s.emailNotifications AS emailNotifications, " +
+           "s.pushNotifications AS pushNotifications, s.smsNotifications AS smsNotifications " +
+           "FROM Settings s JOIN s.user u WHERE u.status = 'ACTIVE' AND s.notificationFrequency <> 'NEVER' " +
+           "AND (s.emailNotifications = true OR s.pushNotifications = true OR s.smsNotifications = true) " +
+           "AND u.id > :afterId ORDER BY u.id")
+    List<NotificationRecipientView> findNotificationRecipientsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT u.id AS userId, u.username AS username, u.email AS email, s.timeZone AS timeZone, " +
+           "s.notificationFrequency AS notificationFrequency, s.emailNotifications AS emailNotifications, " +
+           "s.pushNotifications AS pushNotifications, s.smsNotifications AS smsNotifications " +
+           "FROM Settings s JOIN s.user u WHERE u.status = 'ACTIVE' AND s.notificationFrequency <> 'NEVER' " +
+           "AND (s.emailNotifications = true OR s.pushNotifications = true OR s.smsNotifications = true) " +
+           "AND u.id IN :userIds")
+    List<NotificationRecipientView> findNotificationRecipientsByUserIdIn(@Param("userIds") Collection<Long> userIds);
+    
+    @Query("SELECT s FROM Settings s JOIN FETCH s.user u WHERE u.id IN :userIds")
+    List<Settings> findWithUserByUserIdIn(@Param("userIds") Collection<Long> userIds);
+    
     @Query("SELECT s FROM Settings s WHERE s.profileVisibility = :profileVisibility " +
            "AND s.allowMessages = :allowMessages AND s.showOnlineStatus = :showOnlineStatus")
     List<Settings> findByPrivacySettings(@Param("profileVisibility") Boolean profileVisibility,
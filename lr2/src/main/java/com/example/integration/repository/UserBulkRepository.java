@@ -0,0 +1,160 @@
+package com.example.integration.repository;
+
+import com.example.integration.cache.SecondLevelCacheConfiguration;
+import com.example.integration.entity.PooledSequenceGenerator;
+import com.example.integration.entity.Profile;
+import com.example.integration.entity.Settings;
+import com.example.integration.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class UserBulkRepository {
+    
+    private static final String INSERT_USER =
+        "INSERT INTO users (id, username, email, password, status, created_at) " +
+        "VALUES (:id, :username, :email, :password, :status, :createdAt)";
+    
+    private static final String INSERT_PROFILE =
+        "INSERT INTO profiles (id, version, user_id, is_public, gender, created_at) " +
+        "VALUES (:id, 0, :userId, :isPublic, :gender, :createdAt)";
+    
+    private static final String INSERT_SETTINGS =
+        "INSERT INTO settings (id, version, user_id, theme, language_code, time_zone, date_format, " +
+        "profile_visibility, allow_messages, show_online_status, email_notifications, " +
+        "push_notifications, sms_notifications, notification_frequency, items_per_page, " +
+        "auto_save, auto_save_interval, two_factor_enabled, session_timeout, created_at) " +
+        "VALUES (:id, 0, :userId, :theme, :languageCode, :timeZone, :dateFormat, " +
+        ":profileVisibility, :allowMessages, :showOnlineStatus, :emailNotifications, " +
+        ":pushNotifications, :smsNotifications, :notificationFrequency, :itemsPerPage, " +
+        ":autoSave, :autoSaveInterval, :twoFactorEnabled, :sessionTimeout, :createdAt)";
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    
+    @Value("${app.ids.allocation-size:" + PooledSequenceGenerator.DEFAULT_ALLOCATION_SIZE + "}")
+    private int allocationSize;
+    
+    public List<String[]> findExistingUsernamesAndEmails(Collection<String> usernames, Collection<String> emails) {
+        if (usernames.isEmpty() && emails.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("usernames", usernames.isEmpty() ? List.of("") : usernames)
+            .addValue("emails", emails.isEmpty() ? List.of("") : emails);
+        return jdbcTemplate.query(
+            "SELECT username, email FROM users WHERE username IN (:usernames) OR email IN (:emails)",
+            params,
+            (rs, rowNum) -> new String[] { rs.getString("username"), rs.getString("email") });
+    }
+    
+    public List<Long> insertUsers(List<User> users) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = allocateIds("users_seq", users.size());
+        SqlParameterSource[] batch = new SqlParameterSource[users.size()];
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            batch[i] = new MapSqlParameterSource()
+                .addValue("id", ids.get(i))
+                .addValue("username", user.getUsername())
+                .addValue("email", user.getEmail())
+                .addValue("password", user.getPassword())
+                .addValue("status", user.getStatus().name())
+                .addValue("createdAt", Timestamp.valueOf(user.getCreatedAt()));
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER, batch);
+        return ids;
+    }
+    
+    public void insertDefaultProfiles(List<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Profile defaults = Profile.builder().isPublic(true).build();
+        List<Long> ids = allocateIds("profiles_seq", userIds.size());
+        SqlParameterSource[] batch = new SqlParameterSource[userIds.size()];
+        for (int i = 0; i < userIds.size(); i++) {
+            batch[i] = new MapSqlParameterSource()
+                .addValue("id", ids.get(i))
+                .addValue("userId", userIds.get(i))
+                .addValue("isPublic", defaults.getIsPublic())
+                .addValue("gender", defaults.getGender().name())
+                .addValue("createdAt", Timestamp.valueOf(defaults.getCreatedAt()));
+        }
+        jdbcTemplate.batchUpdate(INSERT_PROFILE, batch);
+        evictQueryRegion(SecondLevelCacheConfiguration.PROFILES_QUERY_REGION);
+    }
+    
+    public void insertDefaultSettings(List<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Settings defaults = Settings.builder().build();
+        List<Long> ids = allocateIds("settings_seq", userIds.size());
+        SqlParameterSource[] batch = new SqlParameterSource[userIds.size()];
+        for (int i = 0; i < userIds.size(); i++) {
+            batch[i] = new MapSqlParameterSource()
+                .addValue("id", ids.get(i))
+                .addValue("userId", userIds.get(i))
+                .addValue("theme", defaults.getTheme().name())
+                .addValue("languageCode", defaults.getLanguageCode())
+                .addValue("timeZone", defaults.getTimeZone())
+                .addValue("dateFormat", defaults.getDateFormat().name())
+                .addValue("profileVisibility", defaults.getProfileVisibility())
+                .addValue("allowMessages", defaults.getAllowMessages())
+                .addValue("showOnlineStatus", defaults.getShowOnlineStatus())
+                .addValue("emailNotifications", defaults.getEmailNotifications())
+                .addValue("pushNotifications", defaults.getPushNotifications())
+                .addValue("smsNotifications", defaults.getSmsNotifications())
+                .addValue("notificationFrequency", defaults.getNotificationFrequency().name())
+                .addValue("itemsPerPage", defaults.getItemsPerPage())
+                .addValue("autoSave", defaults.getAutoSave())
+                .addValue("autoSaveInterval", defaults.getAutoSaveInterval())
+                .addValue("twoFactorEnabled", defaults.getTwoFactorEnabled())
+                .addValue("sessionTimeout", defaults.getSessionTimeout())
+                .addValue("createdAt", Timestamp.valueOf(defaults.getCreatedAt()));
+        }
+        jdbcTemplate.batchUpdate(INSERT_SETTINGS, batch);
+        evictQueryRegion(SecondLevelCacheConfiguration.SETTINGS_QUERY_REGION);
+    }
+    
+    private List<Long> allocateIds(String sequence, int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            Long low = jdbcTemplate.getJdbcTemplate().queryForObject("SELECT NEXT VALUE FOR " + sequence, Long.class);
+            for (int i = 0; i < allocationSize && ids.size() < count; i++) {
+                ids.add(low + i);
+            }
+        }
+        return ids;
+    }
+    
+    private void evictQueryRegion(String region) {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        cache.evictQueryRegion(region);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evictQueryRegion(region);
+                }
+            });
+        }
+    }
+}
\ No newline at end of file
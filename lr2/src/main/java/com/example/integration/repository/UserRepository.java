@@ -1,14 +1,26 @@
 package com.example.integration.repository;
 
+import com.example.integration.entity.Settings;
 import com.example.integration.entity.User;
+import com.example.integration.repository.projection.PublicUserSummaryView;
+import com.example.integration.repository.projection.UserDetailsView;
+import com.example.integration.repository.projection.UserLastModifiedView;
+import com.example.integration.repository.projection.UserStatisticsView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -20,6 +32,57 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.username = :identifier OR u.email = :identifier")
     Optional<User> findByUsernameOrEmail(@Param("identifier") String identifier);
     
+    @Query("SELECT u.id AS userId, u.username AS username, u.email AS email, u.status AS status, " +
+           "u.createdAt AS userCreatedAt, u.updatedAt AS userUpdatedAt, " +
+           "p.id AS profileId, p.version AS profileVersion, p.createdAt AS profileCreatedAt, " +
+           "p.updatedAt AS profileUpdatedAt, p.firstName AS firstName, p.lastName AS lastName, p.bio AS bio, " +
+           "p.location AS location, p.birthDate AS birthDate, p.phoneNumber AS phoneNumber, " +
+           "p.website AS website, p.profileImageUrl AS profileImageUrl, p.gender AS gender, " +
+           "p.isPublic AS isPublic, " +
+           "s.id AS settingsId, s.version AS settingsVersion, s.createdAt AS settingsCreatedAt, " +
+           "s.updatedAt AS settingsUpdatedAt, s.theme AS theme, s.languageCode AS languageCode, s.timeZone AS timeZone, " +
+           "s.dateFormat AS dateFormat, s.profileVisibility AS profileVisibility, " +
+           "s.allowMessages AS allowMessages, s.showOnlineStatus AS showOnlineStatus, " +
+           "s.emailNotifications AS emailNotifications, s.pushNotifications AS pushNotifications, " +
+           "s.smsNotifications AS smsNotifications, s.notificationFrequency AS notificationFrequency, " +
+           "s.itemsPerPage AS itemsPerPage, s.autoSave AS autoSave, s.autoSaveInterval AS autoSaveInterval, " +
+           "s.twoFactorEnabled AS twoFactorEnabled, s.sessionTimeout AS sessionTimeout " +
+           "FROM User u LEFT JOIN u.profile p LEFT JOIN u.settings s " +
+           "WHERE u.username = :identifier OR u.email = :identifier")
+    Optional<UserDetailsView> findDetailsByUsernameOrEmail(@Param("identifier") String identifier);
+    
+    @Query("SELECT u.id AS userId, u.username AS username, u.email AS email, u.status AS status, " +
+           "u.createdAt AS userCreatedAt, u.updatedAt AS userUpdatedAt, " +
+           "p.id AS profileId, p.version AS profileVersion, p.createdAt AS profileCreatedAt, " +
+           "p.updatedAt AS profileUpdatedAt, p.firstName AS firstName, p.lastName AS lastName, p.bio AS bio, " +
+           "p.location AS location, p.birthDate AS birthDate, p.phoneNumber AS phoneNumber, " +
+           "p.website AS website, p.profileImageUrl AS profileImageUrl, p.gender AS gender, " +
+           "p.isPublic AS isPublic, " +
+           "s.id AS settingsId, s.version AS settingsVersion, s.createdAt AS settingsCreatedAt, " +
+           "s.updatedAt AS settingsUpdatedAt, s.theme AS theme, s.languageCode AS languageCode, s.timeZone AS timeZone, " +
+           "s.dateFormat AS dateFormat, s.profileVisibility AS profileVisibility, " +
+           "s.allowMessages AS allowMessages, s.showOnlineStatus AS showOnlineStatus, " +
+           "s.emailNotifications AS emailNotifications, s.pushNotifications AS pushNotifications, " +
+           "s.smsNotifications AS smsNotifications, s.notificationFrequency AS notificationFrequency, " +
+           "s.itemsPerPage AS itemsPerPage, s.autoSave AS autoSave, s.autoSaveInterval AS autoSaveInterval, " +
+           "s.twoFactorEnabled AS twoFactorEnabled, s.sessionTimeout AS sessionTimeout " +
+           "FROM User u LEFT JOIN u.profile p LEFT JOIN u.settings s " +
+           "WHERE u.username IN :identifiers OR u.email IN :identifiers")
+    List<UserDetailsView> findDetailsByUsernamesOrEmails(@Param("identifiers") Collection<String> identifiers);
+    
+    @Query("SELECT u.id AS userId, u.createdAt AS userCreatedAt, u.updatedAt AS userUpdatedAt, " +
+           "p.createdAt AS profileCreatedAt, p.updatedAt AS profileUpdatedAt, p.version AS profileVersion, " +
+           "s.createdAt AS settingsCreatedAt, s.updatedAt AS settingsUpdatedAt, s.version AS settingsVersion " +
+           "FROM User u LEFT JOIN u.profile p LEFT JOIN u.settings s WHERE u.id = :userId")
+    Optional<UserLastModifiedView> findLastModifiedById(@Param("userId") Long userId);
+    
+    @Query("SELECT u.id AS userId, u.createdAt AS userCreatedAt, u.updatedAt AS userUpdatedAt, " +
+           "p.createdAt AS profileCreatedAt, p.updatedAt AS profileUpdatedAt, p.version AS profileVersion, " +
+           "s.createdAt AS settingsCreatedAt, s.updatedAt AS settingsUpdatedAt, s.version AS settingsVersion " +
+           "FROM User u LEFT JOIN u.profile p LEFT JOIN u.settings s " +
+           "WHERE u.username = :identifier OR u.email = :identifier")
+    Optional<UserLastModifiedView> findLastModifiedByUsernameOrEmail(@Param("identifier") String identifier);
+    
     List<User> findByStatus(User.UserStatus status);
     
     List<User> findByCreatedAtAfter(LocalDateTime date);
@@ -31,9 +94,52 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.profile WHERE u.status = 'ACTIVE'")
     List<User> findActiveUsersWithProfiles();
     
+    @Query("SELECT u.id AS id, u.username AS username, u.status AS status, u.createdAt AS createdAt, " +
+           "p.firstName AS firstName, p.lastName AS lastName, p.bio AS bio, p.location AS location, " +
+           "p.profileImageUrl AS profileImageUrl FROM User u JOIN u.profile p " +
+           "WHERE u.status = 'ACTIVE' AND p.isPublic = true ORDER BY u.id")
+    List<PublicUserSummaryView> findActiveUsersWithPublicProfiles();
+    
+    @Query("SELECT u.id AS id, u.username AS username, u.status AS status, u.createdAt AS createdAt, " +
+           "p.firstName AS firstName, p.lastName AS lastName, p.bio AS bio, p.location AS location, " +
+           "p.profileImageUrl AS profileImageUrl FROM User u JOIN u.profile p " +
+           "WHERE u.status = 'ACTIVE' AND p.isPublic = true AND u.id > :afterId ORDER BY u.id")
+    List<PublicUserSummaryView> findActiveUsersWithPublicProfilesAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT u.id AS id, u.username AS username, u.status AS status, u.createdAt AS createdAt, " +
+           "p.firstName AS firstName, p.lastName AS lastName, p.bio AS bio, p.location AS location, " +
+           "p.profileImageUrl AS profileImageUrl FROM User u JOIN u.profile p " +
+           "WHERE u.status = 'ACTIVE' AND p.isPublic = true ORDER BY u.id")
+    Stream<PublicUserSummaryView> streamActiveUsersWithPublicProfiles();
+    
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.settings s WHERE s.theme = :theme")
     List<User> findUsersByThemePreference(@Param("theme") String theme);
     
+    @Query("SELECT u FROM User u JOIN FETCH u.settings s LEFT JOIN FETCH u.profile " +
+           "WHERE s.theme = :theme AND u.status = 'ACTIVE'")
+    List<User> findActiveUsersByTheme(@Param("theme") Settings.Theme theme);
+    
     @Query("SELECT COUNT(u) FROM User u WHERE u.status = :status")
     Long countByStatus(@Param("status") User.UserStatus status);
+    
+    @Query(value = "SELECT u.total_users AS totalUsers, u.active_users AS activeUsers, " +
+                   "u.suspended_users AS suspendedUsers, u.deleted_users AS deletedUsers, " +
+                   "p.public_profiles AS publicProfiles, p.private_profiles AS privateProfiles, " +
+                   "s.email_notifications AS usersWithEmailNotifications, s.two_factor AS usersWithTwoFactor " +
+                   "FROM (SELECT COUNT(*) AS total_users, " +
+                   "COALESCE(SUM(CASE WHEN status = 'ACTIVE' THEN 1 ELSE 0 END), 0) AS active_users, " +
+                   "COALESCE(SUM(CASE WHEN status = 'SUSPENDED' THEN 1 ELSE 0 END), 0) AS suspended_users, " +
+                   "COALESCE(SUM(CASE WHEN status = 'DELETED' THEN 1 ELSE 0 END), 0) AS deleted_users " +
+                   "FROM users) u " +
+                   "CROSS JOIN (SELECT " +
+                   "COALESCE(SUM(CASE WHEN is_public = TRUE THEN 1 ELSE 0 END), 0) AS public_profiles, " +
+                   "COALESCE(SUM(CASE WHEN is_public = FALSE THEN 1 ELSE 0 END), 0) AS private_profiles " +
+                   "FROM profiles) p " +
+                   "CROSS JOIN (SELECT " +
+                   "COALESCE(SUM(CASE WHEN email_notifications = TRUE THEN 1 ELSE 0 END), 0) AS email_notifications, " +
+                   "COALESCE(SUM(CASE WHEN two_factor_enabled = TRUE THEN 1 ELSE 0 END), 0) AS two_factor " +
+                   "FROM settings) s",
+           nativeQuery = true)
+    UserStatisticsView aggregateStatistics();
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.example.integration.repository.projection;
+
+import com.example.integration.entity.Settings;
+
+public interface NotificationRecipientView {
+    
+    Long getUserId();
+    
+    String getUsername();
+    
+    String getEmail();
+    
+    String getTimeZone();
+    
+    Settings.NotificationFrequency getNotificationFrequency();
+    
+    Boolean getEmailNotifications();
+    
+    Boolean getPushNotifications();
+    
+    Boolean getSmsNotifications();
+}
\ No newline at end of file
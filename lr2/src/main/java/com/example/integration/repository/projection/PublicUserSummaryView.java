@@ -0,0 +1,26 @@
+package com.example.integration.repository.projection;
+
+import com.example.integration.entity.User;
+
+import java.time.LocalDateTime;
+
+public interface PublicUserSummaryView {
+    
+    Long getId();
+    
+    String getUsername();
+    
+    User.UserStatus getStatus();
+    
+    LocalDateTime getCreatedAt();
+    
+    String getFirstName();
+    
+    String getLastName();
+    
+    String getBio();
+    
+    String getLocation();
+    
+    String getProfileImageUrl();
+}
\ No newline at end of file
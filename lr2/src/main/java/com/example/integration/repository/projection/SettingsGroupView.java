@@ -0,0 +1,24 @@
+package com.example.integration.repository.projection;
+
+import com.example.integration.entity.Settings;
+
+public interface SettingsGroupView {
+    
+    Settings.Theme getTheme();
+    
+    String getLanguageCode();
+    
+    String getTimeZone();
+    
+    Settings.NotificationFrequency getNotificationFrequency();
+    
+    Boolean getEmailNotifications();
+    
+    Boolean getPushNotifications();
+    
+    Boolean getSmsNotifications();
+    
+    Boolean getTwoFactorEnabled();
+    
+    long getTotal();
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.example.integration.repository.projection;
+
+import com.example.integration.entity.Profile;
+import com.example.integration.entity.Settings;
+import com.example.integration.entity.User;
+
+import java.time.LocalDate;
+
+public interface UserDetailsView extends UserLastModifiedView {
+    
+    String getUsername();
+    
+    String getEmail();
+    
+    User.UserStatus getStatus();
+    
+    Long getProfileId();
+    
+    String getFirstName();
+    
+    String getLastName();
+    
+    String getBio();
+    
+    String getLocation();
+    
+    LocalDate getBirthDate();
+    
+    String getPhoneNumber();
+    
+    String getWebsite();
+    
+    String getProfileImageUrl();
+    
+    Profile.Gender getGender();
+    
+    Boolean getIsPublic();
+    
+    Long getSettingsId();
+    
+    Settings.Theme getTheme();
+    
+    String getLanguageCode();
+    
+    String getTimeZone();
+    
+    Settings.DateFormat getDateFormat();
+    
+    Boolean getProfileVisibility();
+    
+    Boolean getAllowMessages();
+    
+    Boolean getShowOnlineStatus();
+    
+    Boolean getEmailNotifications();
+    
+    Boolean getPushNotifications();
+    
+    Boolean getSmsNotifications();
+    
+    Settings.NotificationFrequency getNotificationFrequency();
+    
+    Integer getItemsPerPage();
+    
+    Boolean getAutoSave();
+    
+    Integer getAutoSaveInterval();
+    
+    Boolean getTwoFactorEnabled();
+    
+    Integer getSessionTimeout();
+}
\ No newline at end of file
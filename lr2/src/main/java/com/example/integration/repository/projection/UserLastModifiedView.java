@@ -0,0 +1,35 @@
+package com.example.integration.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+public interface UserLastModifiedView {
+    
+    Long getUserId();
+    
+    LocalDateTime getUserCreatedAt();
+    
+    LocalDateTime getUserUpdatedAt();
+    
+    LocalDateTime getProfileCreatedAt();
+    
+    LocalDateTime getProfileUpdatedAt();
+    
+    LocalDateTime getSettingsCreatedAt();
+    
+    LocalDateTime getSettingsUpdatedAt();
+    
+    Long getProfileVersion();
+    
+    Long getSettingsVersion();
+    
+    default LocalDateTime getLastModified() {
+        return Stream.of(getUserCreatedAt(), getUserUpdatedAt(), getProfileCreatedAt(), getProfileUpdatedAt(),
+                getSettingsCreatedAt(), getSettingsUpdatedAt())
+            .filter(Objects::nonNull)
+            .max(Comparator.naturalOrder())
+            .orElse(null);
+    }
+}
\ No newline at end of file
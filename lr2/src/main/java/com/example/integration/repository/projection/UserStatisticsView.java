@@ -0,0 +1,20 @@
+package com.example.integration.repository.projection;
+
+public interface UserStatisticsView {
+    
+    long getTotalUsers();
+    
+    long getActiveUsers();
+    
+    long getSuspendedUsers();
+    
+    long getDeletedUsers();
+    
+    long getPublicProfiles();
+    
+    long getPrivateProfiles();
+    
+    long getUsersWithEmailNotifications();
+    
+    long getUsersWithTwoFactor();
+}
\ No newline at end of file
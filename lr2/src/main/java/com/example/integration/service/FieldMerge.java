@@ -0,0 +1,82 @@
+package com.example.integration.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+final class FieldMerge<E> {
+    
+    private final String entityName;
+    private final Map<String, Function<E, Object>> getters = new LinkedHashMap<>();
+    private final Map<String, BiConsumer<E, Object>> setters = new LinkedHashMap<>();
+    
+    FieldMerge(String entityName) {
+        this.entityName = entityName;
+    }
+    
+    @SuppressWarnings("unchecked")
+    <V> FieldMerge<E> field(String name, Function<E, V> getter, BiConsumer<E, V> setter) {
+        getters.put(name, getter::apply);
+        setters.put(name, (target, value) -> setter.accept(target, (V) value));
+        return this;
+    }
+    
+    Map<String, Object> nonNullFields(E update) {
+        Map<String, Object> requested = new LinkedHashMap<>();
+        getters.forEach((name, getter) -> {
+            Object value = getter.apply(update);
+            if (value != null) {
+                requested.put(name, value);
+            }
+        });
+        return requested;
+    }
+    
+    Map<String, Object> selectedFields(E update, Collection<String> names) {
+        Map<String, Object> requested = new LinkedHashMap<>();
+        for (String name : names) {
+            Function<E, Object> getter = getters.get(name);
+            if (getter == null) {
+                throw new IllegalArgumentException("Unknown " + entityName + " field: " + name);
+            }
+            requested.put(name, getter.apply(update));
+        }
+        return requested;
+    }
+    
+    Map<String, Object> changedFields(Map<String, Object> requested, E current) {
+        Map<String, Object> changed = new LinkedHashMap<>();
+        requested.forEach((name, value) -> {
+            if (!Objects.equals(getters.get(name).apply(current), value)) {
+                changed.put(name, value);
+            }
+        });
+        return changed;
+    }
+    
+    List<String> conflicts(Map<String, Object> requested, E base, E current) {
+        List<String> conflicting = new ArrayList<>();
+        requested.forEach((name, value) -> {
+            Object baseValue = getters.get(name).apply(base);
+            Object currentValue = getters.get(name).apply(current);
+            if (!Objects.equals(baseValue, value) && !Objects.equals(baseValue, currentValue)
+                    && !Objects.equals(currentValue, value)) {
+                conflicting.add(name);
+            }
+        });
+        return conflicting;
+    }
+    
+    void apply(Map<String, Object> requested, E base, E target) {
+        requested.forEach((name, value) -> {
+            if (!Objects.equals(getters.get(name).apply(base), value)) {
+                setters.get(name).accept(target, value);
+            }
+        });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.example.integration.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+@Component
+@Slf4j
+public class OptimisticUpdateExecutor {
+    
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    
+    public OptimisticUpdateExecutor(PlatformTransactionManager transactionManager,
+                                    EntityManagerFactory entityManagerFactory,
+                                    @Value("${app.concurrency.optimistic.max-attempts:10}") int maxAttempts,
+                                    @Value("${app.concurrency.optimistic.backoff-ms:2}") long backoffMillis) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+    }
+    
+    public <T> T execute(Supplier<T> attempt) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return attempt.get();
+        }
+        
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    disableJdbcBatching();
+                    return attempt.get();
+                });
+            } catch (OptimisticLockingFailureException e) {
+                if (attemptNumber >= maxAttempts) {
+                    throw e;
+                }
+                log.debug("Optimistic lock failure on attempt {}, retrying: {}", attemptNumber, e.getMessage());
+                evictStaleEntity(e);
+                backoff(attemptNumber);
+            }
+        }
+    }
+    
+    private void disableJdbcBatching() {
+        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        if (entityManager != null) {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(1);
+        }
+    }
+    
+    private void evictStaleEntity(OptimisticLockingFailureException e) {
+        if (e instanceof ObjectOptimisticLockingFailureException) {
+            ObjectOptimisticLockingFailureException failure = (ObjectOptimisticLockingFailureException) e;
+            if (failure.getPersistentClass() != null && failure.getIdentifier() != null) {
+                entityManagerFactory.getCache().evict(failure.getPersistentClass(), failure.getIdentifier());
+            }
+        }
+    }
+    
+    private void backoff(int attemptNumber) {
+        long sleepMillis = ThreadLocalRandom.current().nextLong(backoffMillis * attemptNumber + 1);
+        try {
+            Thread.sleep(sleepMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying optimistic update", e);
+        }
+    }
+}
\ No newline at end of file
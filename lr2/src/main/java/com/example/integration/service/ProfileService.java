@@ -1,54 +1,70 @@
 package com.example.integration.service;
 
+import com.example.integration.cache.UserDetailsCache;
 import com.example.integration.entity.Profile;
 import com.example.integration.entity.User;
+import com.example.integration.index.ProfileBirthDateIndex;
+import com.example.integration.index.ProfileNameIndex;
 import com.example.integration.repository.ProfileRepository;
 import com.example.integration.repository.UserRepository;
+import com.example.integration.statistics.StatisticsCounters;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.validation.Valid;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class ProfileService {
     
+    private static final FieldMerge<Profile> PROFILE_FIELDS = new FieldMerge<Profile>("profile")
+        .field("firstName", Profile::getFirstName, Profile::setFirstName)
+        .field("lastName", Profile::getLastName, Profile::setLastName)
+        .field("bio", Profile::getBio, Profile::setBio)
+        .field("location", Profile::getLocation, Profile::setLocation)
+        .field("birthDate", Profile::getBirthDate, Profile::setBirthDate)
+        .field("phoneNumber", Profile::getPhoneNumber, Profile::setPhoneNumber)
+        .field("website", Profile::getWebsite, Profile::setWebsite)
+        .field("profileImageUrl", Profile::getProfileImageUrl, Profile::setProfileImageUrl)
+        .field("gender", Profile::getGender, Profile::setGender)
+        .field("isPublic", Profile::getIsPublic, Profile::setIsPublic);
+    
     private final ProfileRepository profileRepository;
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final StatisticsCounters statisticsCounters;
+    private final ProfileNameIndex profileNameIndex;
+    private final ProfileBirthDateIndex profileBirthDateIndex;
+    private final OptimisticUpdateExecutor optimisticUpdateExecutor;
+    
+    @Value("${app.users.lookup.max-size:500}")
+    private int lookupChunkSize;
     
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Profile updateProfile(Long userId, @Valid Profile profileUpdate) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
-        
-        Profile existingProfile = user.getProfile();
-        if (existingProfile == null) {
-            profileUpdate.setUser(user);
-            profileUpdate.setCreatedAt(LocalDateTime.now());
-            Profile savedProfile = profileRepository.save(profileUpdate);
-            
-            user.setProfile(savedProfile);
-            user.setUpdatedAt(LocalDateTime.now());
-            userRepository.save(user);
-            
-            return savedProfile;
-        }
-        
-        updateProfileFields(existingProfile, profileUpdate);
-        existingProfile.setUpdatedAt(LocalDateTime.now());
-        
-        Profile savedProfile = profileRepository.save(existingProfile);
-        
-        user.setUpdatedAt(LocalDateTime.now());
-        userRepository.save(user);
-        
-        return savedProfile;
+        Map<String, Object> requested = PROFILE_FIELDS.nonNullFields(profileUpdate);
+        AtomicReference<Profile> base = new AtomicReference<>();
+        return optimisticUpdateExecutor.execute(() -> {
+            Optional<Profile> existingProfile = profileRepository.findWithUserByUserId(userId);
+            if (existingProfile.isEmpty()) {
+                return createProfile(userId, profileUpdate);
+            }
+            return mergeProfile(userId, existingProfile.get(), requested, base);
+        });
     }
     
     @Transactional(readOnly = true)
@@ -58,39 +74,27 @@ public class ProfileService {
     
     @Transactional(readOnly = true)
     public List<Profile> searchPublicProfiles(String searchTerm) {
-        List<Profile> profiles;
+        if (searchTerm != null && !searchTerm.trim().isEmpty() && profileNameIndex.isServing()) {
+            return findInOrder(profileNameIndex.search(searchTerm));
+        }
         
         if (searchTerm != null && !searchTerm.trim().isEmpty()) {
-            profiles = profileRepository.searchByName(searchTerm.trim());
-        } else {
-            profiles = profileRepository.findByIsPublicTrue();
+            return profileRepository.searchPublicProfilesOfActiveUsersByName(searchTerm.trim());
         }
-        
-        return profiles.stream()
-            .filter(profile -> profile.getUser().getStatus() == User.UserStatus.ACTIVE)
-            .filter(Profile::getIsPublic)
-            .toList();
+        return profileRepository.findPublicProfilesOfActiveUsers();
     }
     
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Profile updateProfileVisibility(Long userId, boolean isPublic) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
-        
-        Profile profile = user.getProfile();
-        if (profile == null) {
-            throw new IllegalArgumentException("Profile not found for user: " + userId);
-        }
-        
-        profile.setIsPublic(isPublic);
-        profile.setUpdatedAt(LocalDateTime.now());
-        
-        Profile savedProfile = profileRepository.save(profile);
-        
-        user.setUpdatedAt(LocalDateTime.now());
-        userRepository.save(user);
-        
-        return savedProfile;
+        Map<String, Object> requested = Map.of("isPublic", isPublic);
+        AtomicReference<Profile> base = new AtomicReference<>();
+        return optimisticUpdateExecutor.execute(() -> {
+            Profile profile = profileRepository.findWithUserByUserId(userId)
+                .orElseThrow(() -> userRepository.existsById(userId)
+                    ? new IllegalArgumentException("Profile not found for user: " + userId)
+                    : new IllegalArgumentException("User not found: " + userId));
+            return mergeProfile(userId, profile, requested, base);
+        });
     }
     
     @Transactional(readOnly = true)
@@ -98,12 +102,23 @@ public class ProfileService {
         LocalDate maxBirthDate = LocalDate.now().minusYears(minAge);
         LocalDate minBirthDate = LocalDate.now().minusYears(maxAge + 1);
         
-        List<Profile> profiles = profileRepository.findByBirthDateBetween(minBirthDate, maxBirthDate);
+        if (profileBirthDateIndex.isServing()) {
+            return findInOrder(profileBirthDateIndex.findProfileIds(minBirthDate, maxBirthDate, 0, Integer.MAX_VALUE));
+        }
+        return profileRepository.findPublicProfilesOfActiveUsersByBirthDateBetween(minBirthDate, maxBirthDate);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<Profile> getProfilesByAge(int minAge, int maxAge, Pageable pageable) {
+        LocalDate maxBirthDate = LocalDate.now().minusYears(minAge);
+        LocalDate minBirthDate = LocalDate.now().minusYears(maxAge + 1);
         
-        return profiles.stream()
-            .filter(profile -> profile.getIsPublic())
-            .filter(profile -> profile.getUser().getStatus() == User.UserStatus.ACTIVE)
-            .toList();
+        if (profileBirthDateIndex.isServing()) {
+            return findInOrder(profileBirthDateIndex.findProfileIds(
+                minBirthDate, maxBirthDate, pageable.getOffset(), pageable.getPageSize()));
+        }
+        return profileRepository.findPublicProfilesOfActiveUsersByBirthDateBetween(
+            minBirthDate, maxBirthDate, pageable);
     }
     
     @Transactional(readOnly = true)
@@ -158,17 +173,62 @@ public class ProfileService {
             .build();
     }
     
-    private void updateProfileFields(Profile existing, Profile update) {
-        if (update.getFirstName() != null) existing.setFirstName(update.getFirstName());
-        if (update.getLastName() != null) existing.setLastName(update.getLastName());
-        if (update.getBio() != null) existing.setBio(update.getBio());
-        if (update.getLocation() != null) existing.setLocation(update.getLocation());
-        if (update.getBirthDate() != null) existing.setBirthDate(update.getBirthDate());
-        if (update.getPhoneNumber() != null) existing.setPhoneNumber(update.getPhoneNumber());
-        if (update.getWebsite() != null) existing.setWebsite(update.getWebsite());
-        if (update.getProfileImageUrl() != null) existing.setProfileImageUrl(update.getProfileImageUrl());
-        if (update.getGender() != null) existing.setGender(update.getGender());
-        if (update.getIsPublic() != null) existing.setIsPublic(update.getIsPublic());
+    private List<Profile> findInOrder(List<Long> profileIds) {
+        if (profileIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Profile> profilesById = new HashMap<>();
+        for (int from = 0; from < profileIds.size(); from += lookupChunkSize) {
+            profileRepository.findAllWithUserByIdIn(
+                    profileIds.subList(from, Math.min(from + lookupChunkSize, profileIds.size())))
+                .forEach(profile -> profilesById.put(profile.getId(), profile));
+        }
+        return profileIds.stream()
+            .map(profilesById::get)
+            .filter(Objects::nonNull)
+            .toList();
+    }
+    
+    private Profile createProfile(Long userId, Profile profile) {
+        User user = userRepository.findById(userId)
+            .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
+        userDetailsCache.invalidateUser(userId);
+        
+        profile.setUser(user);
+        profile.setCreatedAt(LocalDateTime.now());
+        Profile savedProfile = profileRepository.save(profile);
+        statisticsCounters.recordChange(Set.of(), StatisticsCounters.bucketsOf(savedProfile));
+        updateIndexes(savedProfile, user);
+        user.setProfile(savedProfile);
+        
+        return savedProfile;
+    }
+    
+    private Profile mergeProfile(Long userId, Profile profile, Map<String, Object> requested,
+                                 AtomicReference<Profile> base) {
+        userDetailsCache.invalidateUser(userId);
+        if (!base.compareAndSet(null, profile.toBuilder().build())) {
+            List<String> conflicts = PROFILE_FIELDS.conflicts(requested, base.get(), profile);
+            if (!conflicts.isEmpty()) {
+                throw new UpdateConflictException(userId, profile.getVersion(), conflicts);
+            }
+        }
+        
+        Set<StatisticsCounters.Bucket> before = StatisticsCounters.bucketsOf(profile);
+        PROFILE_FIELDS.apply(requested, base.get(), profile);
+        profile.setUpdatedAt(LocalDateTime.now());
+        
+        Profile savedProfile = profileRepository.save(profile);
+        statisticsCounters.recordChange(before, StatisticsCounters.bucketsOf(savedProfile));
+        updateIndexes(savedProfile, savedProfile.getUser());
+        
+        return savedProfile;
+    }
+    
+    private void updateIndexes(Profile profile, User user) {
+        boolean eligible = Boolean.TRUE.equals(profile.getIsPublic()) && user.getStatus() == User.UserStatus.ACTIVE;
+        profileNameIndex.update(profile.getId(), profile.getFirstName(), profile.getLastName(), eligible);
+        profileBirthDateIndex.update(profile.getId(), profile.getBirthDate(), eligible);
     }
     
     @lombok.Data
@@ -1,189 +1,288 @@
 package com.example.integration.service;
 
+import com.example.integration.cache.UserDetailsCache;
 import com.example.integration.entity.Settings;
 import com.example.integration.entity.User;
+import com.example.integration.index.TimeZoneCodes;
+import com.example.integration.index.TimeZoneIndex;
 import com.example.integration.repository.SettingsRepository;
 import com.example.integration.repository.UserRepository;
+import com.example.integration.repository.projection.SettingsGroupView;
+import com.example.integration.statistics.StatisticsCounters;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.validation.Valid;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class SettingsService {
     
+    static final FieldMerge<Settings> SETTINGS_FIELDS = new FieldMerge<Settings>("settings")
+        .field("theme", Settings::getTheme, Settings::setTheme)
+        .field("languageCode", Settings::getLanguageCode, Settings::setLanguageCode)
+        .field("timeZone", Settings::getTimeZone, Settings::setTimeZone)
+        .field("dateFormat", Settings::getDateFormat, Settings::setDateFormat)
+        .field("profileVisibility", Settings::getProfileVisibility, Settings::setProfileVisibility)
+        .field("allowMessages", Settings::getAllowMessages, Settings::setAllowMessages)
+        .field("showOnlineStatus", Settings::getShowOnlineStatus, Settings::setShowOnlineStatus)
+        .field("emailNotifications", Settings::getEmailNotifications, Settings::setEmailNotifications)
+        .field("pushNotifications", Settings::getPushNotifications, Settings::setPushNotifications)
+        .field("smsNotifications", Settings::getSmsNotifications, Settings::setSmsNotifications)
+        .field("notificationFrequency", Settings::getNotificationFrequency, Settings::setNotificationFrequency)
+        .field("itemsPerPage", Settings::getItemsPerPage, Settings::setItemsPerPage)
+        .field("autoSave", Settings::getAutoSave, Settings::setAutoSave)
+        .field("autoSaveInterval", Settings::getAutoSaveInterval, Settings::setAutoSaveInterval)
+        .field("twoFactorEnabled", Settings::getTwoFactorEnabled, Settings::setTwoFactorEnabled)
+        .field("sessionTimeout", Settings::getSessionTimeout, Settings::setSessionTimeout);
+    
+    private static final List<String> NOTIFICATION_FIELDS =
+        List.of("emailNotifications", "pushNotifications", "smsNotifications", "notificationFrequency");
+    private static final List<String> PRIVACY_FIELDS =
+        List.of("profileVisibility", "allowMessages", "showOnlineStatus");
+    private static final List<String> SECURITY_FIELDS = List.of("twoFactorEnabled", "sessionTimeout");
+    
     private final SettingsRepository settingsRepository;
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final StatisticsCounters statisticsCounters;
+    private final OptimisticUpdateExecutor optimisticUpdateExecutor;
+    private final SettingsWriteBehindBuffer settingsWriteBehindBuffer;
+    private final TimeZoneIndex timeZoneIndex;
     
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Settings updateSettings(Long userId, @Valid Settings settingsUpdate) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
-        
-        Settings existingSettings = user.getSettings();
-        if (existingSettings == null) {
-            settingsUpdate.setUser(user);
-            settingsUpdate.setCreatedAt(LocalDateTime.now());
-            Settings savedSettings = settingsRepository.save(settingsUpdate);
-            
-            user.setSettings(savedSettings);
-            user.setUpdatedAt(LocalDateTime.now());
-            userRepository.save(user);
-            
-            return savedSettings;
+        Map<String, Object> requested = normalizeTimeZone(SETTINGS_FIELDS.nonNullFields(settingsUpdate));
+        if (settingsWriteBehindBuffer.isEnabled()) {
+            Optional<Settings> persisted = settingsRepository.findByUserId(userId);
+            if (persisted.isPresent()) {
+                Settings current = settingsWriteBehindBuffer.overlay(userId, persisted.get());
+                Map<String, Object> changes = SETTINGS_FIELDS.changedFields(requested, current);
+                if (settingsWriteBehindBuffer.accepts(changes)) {
+                    return settingsWriteBehindBuffer.offer(userId, persisted.get(), changes);
+                }
+            }
         }
-        
-        updateSettingsFields(existingSettings, settingsUpdate);
-        existingSettings.setUpdatedAt(LocalDateTime.now());
-        
-        Settings savedSettings = settingsRepository.save(existingSettings);
-        
-        user.setUpdatedAt(LocalDateTime.now());
-        userRepository.save(user);
-        
-        return savedSettings;
+        settingsWriteBehindBuffer.flushUser(userId);
+        AtomicReference<Settings> base = new AtomicReference<>();
+        return optimisticUpdateExecutor.execute(() -> {
+            Optional<Settings> existingSettings = settingsRepository.findByUserId(userId);
+            if (existingSettings.isEmpty()) {
+                return createSettings(userId, settingsUpdate);
+            }
+            return mergeSettings(userId, existingSettings.get(), requested, base);
+        });
+    }
+    
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Settings patchSettings(Long userId, Settings settingsUpdate, Collection<String> fields) {
+        settingsWriteBehindBuffer.flushUser(userId);
+        Map<String, Object> requested = normalizeTimeZone(SETTINGS_FIELDS.selectedFields(settingsUpdate, fields));
+        AtomicReference<Settings> base = new AtomicReference<>();
+        return optimisticUpdateExecutor.execute(() ->
+            mergeSettings(userId, findSettingsForUpdate(userId), requested, base));
     }
     
     @Transactional(readOnly = true)
     public Optional<Settings> getSettingsWithUserDetails(Long userId) {
-        return settingsRepository.findByUserId(userId);
+        return settingsRepository.findByUserId(userId)
+            .map(settings -> settingsWriteBehindBuffer.overlay(userId, settings));
+    }
+    
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public boolean hasPendingWrites(Long userId) {
+        return settingsWriteBehindBuffer.hasPendingWrites(userId);
     }
     
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Settings updateNotificationSettings(Long userId, NotificationPreferences preferences) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
-        
-        Settings settings = user.getSettings();
-        if (settings == null) {
-            throw new IllegalArgumentException("Settings not found for user: " + userId);
+        settingsWriteBehindBuffer.flushUser(userId);
+        Settings update = Settings.builder()
+            .emailNotifications(preferences.getEmailNotifications())
+            .pushNotifications(preferences.getPushNotifications())
+            .smsNotifications(preferences.getSmsNotifications())
+            .notificationFrequency(preferences.getNotificationFrequency())
+            .build();
+        Map<String, Object> requested = SETTINGS_FIELDS.selectedFields(update, NOTIFICATION_FIELDS);
+        AtomicReference<Settings> base = new AtomicReference<>();
+        return optimisticUpdateExecutor.execute(() ->
+            mergeSettings(userId, findSettingsForUpdate(userId), requested, base));
+    }
+    
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Settings updatePrivacySettings(Long userId, PrivacyPreferences preferences) {
+        settingsWriteBehindBuffer.flushUser(userId);
+        Settings update = Settings.builder()
+            .profileVisibility(preferences.getProfileVisibility())
+            .allowMessages(preferences.getAllowMessages())
+            .showOnlineStatus(preferences.getShowOnlineStatus())
+            .build();
+        Map<String, Object> requested = SETTINGS_FIELDS.selectedFields(update, PRIVACY_FIELDS);
+        AtomicReference<Settings> base = new AtomicReference<>();
+        return optimisticUpdateExecutor.execute(() ->
+            mergeSettings(userId, findSettingsForUpdate(userId), requested, base));
+    }
+    
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Settings updateSecuritySettings(Long userId, SecurityPreferences preferences) {
+        settingsWriteBehindBuffer.flushUser(userId);
+        Settings update = Settings.builder()
+            .twoFactorEnabled(preferences.getTwoFactorEnabled())
+            .sessionTimeout(preferences.getSessionTimeout())
+            .build();
+        Map<String, Object> requested = SETTINGS_FIELDS.selectedFields(update, SECURITY_FIELDS);
+        AtomicReference<Settings> base = new AtomicReference<>();
+        return optimisticUpdateExecutor.execute(() -> {
+            Settings settings = findSettingsForUpdate(userId);
+            
+            if (preferences.getSessionTimeout() < 30 || preferences.getSessionTimeout() > 10080) {
+                throw new IllegalArgumentException("Session timeout must be between 30 and 10080 minutes");
+            }
+            
+            return mergeSettings(userId, settings, requested, base);
+        });
+    }
+    
+    @Transactional(readOnly = true)
+    public List<User> getUsersByTheme(Settings.Theme theme) {
+        return userRepository.findActiveUsersByTheme(theme);
+    }
+    
+    @Transactional(readOnly = true)
+    public SettingsAnalytics getSettingsAnalytics() {
+        if (!statisticsCounters.isServing()) {
+            return aggregateSettingsAnalytics();
         }
+        return SettingsAnalytics.builder()
+            .totalSettings(statisticsCounters.get(StatisticsCounters.Bucket.TOTAL_SETTINGS))
+            .lightThemeUsers(statisticsCounters.get(StatisticsCounters.Bucket.LIGHT_THEME))
+            .darkThemeUsers(statisticsCounters.get(StatisticsCounters.Bucket.DARK_THEME))
+            .autoThemeUsers(statisticsCounters.get(StatisticsCounters.Bucket.AUTO_THEME))
+            .emailNotificationUsers(statisticsCounters.get(StatisticsCounters.Bucket.EMAIL_NOTIFICATIONS))
+            .pushNotificationUsers(statisticsCounters.get(StatisticsCounters.Bucket.PUSH_NOTIFICATIONS))
+            .smsNotificationUsers(statisticsCounters.get(StatisticsCounters.Bucket.SMS_NOTIFICATIONS))
+            .twoFactorUsers(statisticsCounters.get(StatisticsCounters.Bucket.TWO_FACTOR))
+            .englishUsers(statisticsCounters.get(StatisticsCounters.Bucket.ENGLISH_LANGUAGE))
+            .languageDistribution(statisticsCounters.getDistribution(StatisticsCounters.Dimension.LANGUAGE))
+            .timeZoneDistribution(statisticsCounters.getDistribution(StatisticsCounters.Dimension.TIME_ZONE))
+            .notificationFrequencyDistribution(
+                statisticsCounters.getDistribution(StatisticsCounters.Dimension.NOTIFICATION_FREQUENCY))
+            .build();
+    }
+    
+    private SettingsAnalytics aggregateSettingsAnalytics() {
+        SettingsAnalytics analytics = SettingsAnalytics.builder()
+            .languageDistribution(new TreeMap<>())
+            .timeZoneDistribution(new TreeMap<>())
+            .notificationFrequencyDistribution(new TreeMap<>())
+            .build();
         
-        settings.setEmailNotifications(preferences.getEmailNotifications());
-        settings.setPushNotifications(preferences.getPushNotifications());
-        settings.setSmsNotifications(preferences.getSmsNotifications());
-        settings.setNotificationFrequency(preferences.getNotificationFrequency());
-        settings.setUpdatedAt(LocalDateTime.now());
-        
-        Settings savedSettings = settingsRepository.save(settings);
-        
-        user.setUpdatedAt(LocalDateTime.now());
-        userRepository.save(user);
-        
-        return savedSettings;
+        for (SettingsGroupView group : settingsRepository.aggregateSettingsGroups()) {
+            long count = group.getTotal();
+            analytics.setTotalSettings(analytics.getTotalSettings() + count);
+            
+            if (group.getTheme() == Settings.Theme.LIGHT) {
+                analytics.setLightThemeUsers(analytics.getLightThemeUsers() + count);
+            } else if (group.getTheme() == Settings.Theme.DARK) {
+                analytics.setDarkThemeUsers(analytics.getDarkThemeUsers() + count);
+            } else if (group.getTheme() == Settings.Theme.AUTO) {
+                analytics.setAutoThemeUsers(analytics.getAutoThemeUsers() + count);
+            }
+            
+            if (Boolean.TRUE.equals(group.getEmailNotifications())) {
+                analytics.setEmailNotificationUsers(analytics.getEmailNotificationUsers() + count);
+            }
+            if (Boolean.TRUE.equals(group.getPushNotifications())) {
+                analytics.setPushNotificationUsers(analytics.getPushNotificationUsers() + count);
+            }
+            if (Boolean.TRUE.equals(group.getSmsNotifications())) {
+                analytics.setSmsNotificationUsers(analytics.getSmsNotificationUsers() + count);
+            }
+            if (Boolean.TRUE.equals(group.getTwoFactorEnabled())) {
+                analytics.setTwoFactorUsers(analytics.getTwoFactorUsers() + count);
+            }
+            if ("en".equals(group.getLanguageCode())) {
+                analytics.setEnglishUsers(analytics.getEnglishUsers() + count);
+            }
+            
+            analytics.getLanguageDistribution().merge(
+                StatisticsCounters.distributionKey(group.getLanguageCode()), count, Long::sum);
+            analytics.getTimeZoneDistribution().merge(
+                StatisticsCounters.distributionKey(group.getTimeZone()), count, Long::sum);
+            analytics.getNotificationFrequencyDistribution().merge(
+                StatisticsCounters.distributionKey(group.getNotificationFrequency()), count, Long::sum);
+        }
+        return analytics;
     }
     
-    @Transactional
-    public Settings updatePrivacySettings(Long userId, PrivacyPreferences preferences) {
+    private Settings createSettings(Long userId, Settings settings) {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
+        userDetailsCache.invalidateUser(userId);
         
-        Settings settings = user.getSettings();
-        if (settings == null) {
-            throw new IllegalArgumentException("Settings not found for user: " + userId);
+        settings.setUser(user);
+        settings.setCreatedAt(LocalDateTime.now());
+        if (settings.getTimeZone() != null) {
+            settings.setTimeZone(TimeZoneCodes.normalize(settings.getTimeZone()));
         }
-        
-        settings.setProfileVisibility(preferences.getProfileVisibility());
-        settings.setAllowMessages(preferences.getAllowMessages());
-        settings.setShowOnlineStatus(preferences.getShowOnlineStatus());
-        settings.setUpdatedAt(LocalDateTime.now());
-        
         Settings savedSettings = settingsRepository.save(settings);
-        
-        user.setUpdatedAt(LocalDateTime.now());
-        userRepository.save(user);
+        statisticsCounters.recordChange(Set.of(), StatisticsCounters.bucketsOf(savedSettings));
+        statisticsCounters.recordDistributionChange(Map.of(), StatisticsCounters.distributionOf(savedSettings));
+        timeZoneIndex.update(userId, savedSettings.getTimeZone());
+        user.setSettings(savedSettings);
         
         return savedSettings;
     }
     
-    @Transactional
-    public Settings updateSecuritySettings(Long userId, SecurityPreferences preferences) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
-        
-        Settings settings = user.getSettings();
-        if (settings == null) {
-            throw new IllegalArgumentException("Settings not found for user: " + userId);
+    private Settings mergeSettings(Long userId, Settings settings, Map<String, Object> requested,
+                                   AtomicReference<Settings> base) {
+        userDetailsCache.invalidateUser(userId);
+        if (!base.compareAndSet(null, settings.toBuilder().build())) {
+            List<String> conflicts = SETTINGS_FIELDS.conflicts(requested, base.get(), settings);
+            if (!conflicts.isEmpty()) {
+                throw new UpdateConflictException(userId, settings.getVersion(), conflicts);
+            }
         }
         
-        if (preferences.getSessionTimeout() < 30 || preferences.getSessionTimeout() > 10080) {
-            throw new IllegalArgumentException("Session timeout must be between 30 and 10080 minutes");
-        }
-        
-        settings.setTwoFactorEnabled(preferences.getTwoFactorEnabled());
-        settings.setSessionTimeout(preferences.getSessionTimeout());
+        Set<StatisticsCounters.Bucket> before = StatisticsCounters.bucketsOf(settings);
+        Map<StatisticsCounters.Dimension, String> distributionBefore = StatisticsCounters.distributionOf(settings);
+        SETTINGS_FIELDS.apply(requested, base.get(), settings);
         settings.setUpdatedAt(LocalDateTime.now());
         
         Settings savedSettings = settingsRepository.save(settings);
-        
-        user.setUpdatedAt(LocalDateTime.now());
-        userRepository.save(user);
+        statisticsCounters.recordChange(before, StatisticsCounters.bucketsOf(savedSettings));
+        statisticsCounters.recordDistributionChange(distributionBefore, StatisticsCounters.distributionOf(savedSettings));
+        if (requested.containsKey("timeZone")) {
+            timeZoneIndex.update(userId, savedSettings.getTimeZone());
+        }
         
         return savedSettings;
     }
     
-    @Transactional(readOnly = true)
-    public List<User> getUsersByTheme(Settings.Theme theme) {
-        List<Settings> settingsList = settingsRepository.findByTheme(theme);
-        
-        return settingsList.stream()
-            .map(Settings::getUser)
-            .filter(user -> user.getStatus() == User.UserStatus.ACTIVE)
-            .toList();
-    }
-    
-    @Transactional(readOnly = true)
-    public SettingsAnalytics getSettingsAnalytics() {
-        long totalSettings = settingsRepository.count();
-        
-        long lightThemeUsers = settingsRepository.countByTheme(Settings.Theme.LIGHT);
-        long darkThemeUsers = settingsRepository.countByTheme(Settings.Theme.DARK);
-        long autoThemeUsers = settingsRepository.countByTheme(Settings.Theme.AUTO);
-        
-        long emailNotificationUsers = settingsRepository.findByEmailNotificationsTrue().size();
-        long pushNotificationUsers = settingsRepository.findByEmailNotificationsTrue().size();
-        long twoFactorUsers = settingsRepository.findByTwoFactorEnabledTrue().size();
-        
-        List<Settings> allSettings = settingsRepository.findAll();
-        long englishUsers = allSettings.stream()
-            .filter(s -> "en".equals(s.getLanguageCode()))
-            .count();
-        
-        return SettingsAnalytics.builder()
-            .totalSettings(totalSettings)
-            .lightThemeUsers(lightThemeUsers)
-            .darkThemeUsers(darkThemeUsers)
-            .autoThemeUsers(autoThemeUsers)
-            .emailNotificationUsers(emailNotificationUsers)
-            .pushNotificationUsers(pushNotificationUsers)
-            .twoFactorUsers(twoFactorUsers)
-            .englishUsers(englishUsers)
-            .build();
+    private static Map<String, Object> normalizeTimeZone(Map<String, Object> requested) {
+        Object timeZone = requested.get("timeZone");
+        if (timeZone != null) {
+            requested.put("timeZone", TimeZoneCodes.normalize((String) timeZone));
+        }
+        return requested;
     }
     
-    private void updateSettingsFields(Settings existing, Settings update) {
-        if (update.getTheme() != null) existing.setTheme(update.getTheme());
-        if (update.getLanguageCode() != null) existing.setLanguageCode(update.getLanguageCode());
-        if (update.getTimeZone() != null) existing.setTimeZone(update.getTimeZone());
-        if (update.getDateFormat() != null) existing.setDateFormat(update.getDateFormat());
-        if (update.getProfileVisibility() != null) existing.setProfileVisibility(update.getProfileVisibility());
-        if (update.getAllowMessages() != null) existing.setAllowMessages(update.getAllowMessages());
-        if (update.getShowOnlineStatus() != null) existing.setShowOnlineStatus(update.getShowOnlineStatus());
-        if (update.getEmailNotifications() != null) existing.setEmailNotifications(update.getEmailNotifications());
-        if (update.getPushNotifications() != null) existing.setPushNotifications(update.getPushNotifications());
-        if (update.getSmsNotifications() != null) existing.setSmsNotifications(update.getSmsNotifications());
-        if (update.getNotificationFrequency() != null) existing.setNotificationFrequency(update.getNotificationFrequency());
-        if (update.getItemsPerPage() != null) existing.setItemsPerPage(update.getItemsPerPage());
-        if (update.getAutoSave() != null) existing.setAutoSave(update.getAutoSave());
-        if (update.getAutoSaveInterval() != null) existing.setAutoSaveInterval(update.getAutoSaveInterval());
-        if (update.getTwoFactorEnabled() != null) existing.setTwoFactorEnabled(update.getTwoFactorEnabled());
-        if (update.getSessionTimeout() != null) existing.setSessionTimeout(update.getSessionTimeout());
+    private Settings findSettingsForUpdate(Long userId) {
+        return settingsRepository.findByUserId(userId)
+            .orElseThrow(() -> userRepository.existsById(userId)
+                ? new UserNotFoundException("Settings not found for user: " + userId)
+                : new UserNotFoundException("User not found: " + userId));
     }
     
     @lombok.Data
@@ -219,7 +318,11 @@ public class SettingsService {
         private long autoThemeUsers;
         private long emailNotificationUsers;
         private long pushNotificationUsers;
+        private long smsNotificationUsers;
         private long twoFactorUsers;
         private long englishUsers;
+        private Map<String, Long> languageDistribution;
+        private Map<String, Long> timeZoneDistribution;
+        private Map<String, Long> notificationFrequencyDistribution;
     }
 }
\ No newline at end of file
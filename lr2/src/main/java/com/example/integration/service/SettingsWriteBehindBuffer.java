@@ -0,0 +1,257 @@
+package com.example.integration.service;
+
+import com.example.integration.cache.UserDetailsCache;
+import com.example.integration.entity.Settings;
+import com.example.integration.index.TimeZoneIndex;
+import com.example.integration.repository.SettingsRepository;
+import com.example.integration.statistics.StatisticsCounters;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class SettingsWriteBehindBuffer {
+    
+    private final SettingsRepository settingsRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final StatisticsCounters statisticsCounters;
+    private final OptimisticUpdateExecutor optimisticUpdateExecutor;
+    private final Validator validator;
+    private final TimeZoneIndex timeZoneIndex;
+    private final boolean enabled;
+    private final Set<String> bufferedFields;
+    private final int maxPending;
+    private final int batchSize;
+    
+    private final Map<Long, Map<String, Object>> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    
+    private final LongAdder buffered = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushedUsers = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    
+    public SettingsWriteBehindBuffer(SettingsRepository settingsRepository,
+                                     UserDetailsCache userDetailsCache,
+                                     StatisticsCounters statisticsCounters,
+                                     OptimisticUpdateExecutor optimisticUpdateExecutor,
+                                     Validator validator,
+                                     TimeZoneIndex timeZoneIndex,
+                                     @Value("${app.settings.write-behind.enabled:false}") boolean enabled,
+                                     @Value("${app.settings.write-behind.fields:autoSave,autoSaveInterval}") Set<String> bufferedFields,
+                                     @Value("${app.settings.write-behind.max-pending:1000}") int maxPending,
+                                     @Value("${app.settings.write-behind.batch-size:500}") int batchSize) {
+        this.settingsRepository = settingsRepository;
+        this.userDetailsCache = userDetailsCache;
+        this.statisticsCounters = statisticsCounters;
+        this.optimisticUpdateExecutor = optimisticUpdateExecutor;
+        this.validator = validator;
+        this.timeZoneIndex = timeZoneIndex;
+        this.enabled = enabled;
+        this.bufferedFields = Set.copyOf(bufferedFields);
+        this.maxPending = maxPending;
+        this.batchSize = batchSize;
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public boolean accepts(Map<String, Object> changes) {
+        return enabled && !changes.isEmpty() && bufferedFields.containsAll(changes.keySet());
+    }
+    
+    public Settings offer(Long userId, Settings persisted, Map<String, Object> changes) {
+        Settings view = overlay(userId, persisted).toBuilder().build();
+        SettingsService.SETTINGS_FIELDS.apply(changes, view, view);
+        Set<ConstraintViolation<Settings>> violations = validator.validate(view);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException("Invalid settings: " + violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", ")));
+        }
+        
+        pending.compute(userId, (id, existing) -> {
+            Map<String, Object> merged = new LinkedHashMap<>();
+            if (existing != null) {
+                merged.putAll(existing);
+                coalesced.increment();
+            }
+            merged.putAll(changes);
+            return Collections.unmodifiableMap(merged);
+        });
+        buffered.increment();
+        
+        if (pending.size() >= maxPending && flushLock.tryLock()) {
+            try {
+                flushPending(new ArrayList<>(pending.keySet()));
+            } finally {
+                flushLock.unlock();
+            }
+        }
+        return view;
+    }
+    
+    public boolean hasPendingWrites(Long userId) {
+        return pending.containsKey(userId);
+    }
+    
+    public Settings overlay(Long userId, Settings settings) {
+        Map<String, Object> fields = pending.get(userId);
+        if (fields == null) {
+            return settings;
+        }
+        Settings view = settings.toBuilder().build();
+        SettingsService.SETTINGS_FIELDS.apply(fields, view, view);
+        return view;
+    }
+    
+    @Scheduled(fixedDelayString = "${app.settings.write-behind.flush-interval-ms:1000}",
+               initialDelayString = "${app.settings.write-behind.flush-interval-ms:1000}")
+    public void scheduledFlush() {
+        if (enabled) {
+            flush();
+        }
+    }
+    
+    public int flush() {
+        flushLock.lock();
+        try {
+            return flushPending(new ArrayList<>(pending.keySet()));
+        } finally {
+            flushLock.unlock();
+        }
+    }
+    
+    public void flushUser(Long userId) {
+        if (!pending.containsKey(userId)) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            flushPending(List.of(userId));
+        } finally {
+            flushLock.unlock();
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        if (!enabled) {
+            return;
+        }
+        int flushed = flush();
+        if (pending.isEmpty()) {
+            log.info("Flushed {} buffered settings updates on shutdown", flushed);
+        } else {
+            log.error("Discarding {} buffered settings updates that could not be flushed on shutdown", pending.size());
+        }
+    }
+    
+    public WriteBehindStats getStats() {
+        return WriteBehindStats.builder()
+            .enabled(enabled)
+            .pendingUsers(pending.size())
+            .buffered(buffered.sum())
+            .coalesced(coalesced.sum())
+            .flushes(flushes.sum())
+            .flushedUsers(flushedUsers.sum())
+            .failures(failures.sum())
+            .build();
+    }
+    
+    private int flushPending(List<Long> userIds) {
+        int flushed = 0;
+        for (int from = 0; from < userIds.size(); from += batchSize) {
+            flushed += flushBatch(userIds.subList(from, Math.min(from + batchSize, userIds.size())));
+        }
+        return flushed;
+    }
+    
+    private int flushBatch(List<Long> userIds) {
+        Map<Long, Map<String, Object>> batch = new LinkedHashMap<>();
+        for (Long userId : userIds) {
+            Map<String, Object> fields = pending.get(userId);
+            if (fields != null) {
+                batch.put(userId, fields);
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        
+        try {
+            optimisticUpdateExecutor.execute(() -> write(batch));
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.error("Failed to flush {} buffered settings updates, keeping them for the next flush", batch.size(), e);
+            return 0;
+        }
+        
+        batch.forEach(pending::remove);
+        flushes.increment();
+        flushedUsers.add(batch.size());
+        return batch.size();
+    }
+    
+    private int write(Map<Long, Map<String, Object>> batch) {
+        Map<Long, Settings> settingsByUserId = settingsRepository.findWithUserByUserIdIn(batch.keySet()).stream()
+            .collect(Collectors.toMap(settings -> settings.getUser().getId(), Function.identity()));
+        LocalDateTime now = LocalDateTime.now();
+        List<Settings> changed = new ArrayList<>();
+        
+        batch.forEach((userId, fields) -> {
+            Settings settings = settingsByUserId.get(userId);
+            if (settings == null) {
+                log.debug("Dropping buffered settings update for user {} without settings", userId);
+                return;
+            }
+            userDetailsCache.invalidateUser(userId);
+            Set<StatisticsCounters.Bucket> before = StatisticsCounters.bucketsOf(settings);
+            Map<StatisticsCounters.Dimension, String> distributionBefore = StatisticsCounters.distributionOf(settings);
+            SettingsService.SETTINGS_FIELDS.apply(fields, settings, settings);
+            settings.setUpdatedAt(now);
+            changed.add(settings);
+            statisticsCounters.recordChange(before, StatisticsCounters.bucketsOf(settings));
+            statisticsCounters.recordDistributionChange(distributionBefore, StatisticsCounters.distributionOf(settings));
+            if (fields.containsKey("timeZone")) {
+                timeZoneIndex.update(userId, settings.getTimeZone());
+            }
+        });
+        
+        settingsRepository.saveAll(changed);
+        return changed.size();
+    }
+    
+    @lombok.Data
+    @lombok.Builder
+    public static class WriteBehindStats {
+        private boolean enabled;
+        private int pendingUsers;
+        private long buffered;
+        private long coalesced;
+        private long flushes;
+        private long flushedUsers;
+        private long failures;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.example.integration.service;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class UpdateConflictException extends RuntimeException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private final Long userId;
+    private final Long currentVersion;
+    private final List<String> conflictingFields;
+    
+    public UpdateConflictException(Long userId, Long currentVersion, List<String> conflictingFields) {
+        super("Concurrent update conflict for user " + userId + " on " + conflictingFields
+            + " (current version " + currentVersion + ")");
+        this.userId = userId;
+        this.currentVersion = currentVersion;
+        this.conflictingFields = conflictingFields;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.example.integration.service;
+
+public class UserNotFoundException extends IllegalArgumentException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    public UserNotFoundException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -1,20 +1,53 @@
 package com.example.integration.service;
 
+import com.example.integration.cache.UserDetailsCache;
 import com.example.integration.entity.User;
 import com.example.integration.entity.Profile;
 import com.example.integration.entity.Settings;
+import com.example.integration.index.ProfileBirthDateIndex;
+import com.example.integration.index.ProfileNameIndex;
+import com.example.integration.index.TimeZoneIndex;
+import com.example.integration.index.UserIdentityFilter;
 import com.example.integration.repository.UserRepository;
 import com.example.integration.repository.ProfileRepository;
 import com.example.integration.repository.SettingsRepository;
+import com.example.integration.repository.UserBulkRepository;
+import com.example.integration.repository.projection.PublicUserSummaryView;
+import com.example.integration.repository.projection.UserDetailsView;
+import com.example.integration.repository.projection.UserLastModifiedView;
+import com.example.integration.repository.projection.UserStatisticsView;
+import com.example.integration.statistics.StatisticsCounters;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
 import javax.validation.Valid;
+import javax.validation.Validator;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -25,18 +58,32 @@ public class UserService {
     private final UserRepository userRepository;
     private final ProfileRepository profileRepository;
     private final SettingsRepository settingsRepository;
+    private final UserBulkRepository userBulkRepository;
+    private final UserIdentityFilter userIdentityFilter;
+    private final UserDetailsCache userDetailsCache;
+    private final StatisticsCounters statisticsCounters;
+    private final ProfileNameIndex profileNameIndex;
+    private final ProfileBirthDateIndex profileBirthDateIndex;
+    private final TimeZoneIndex timeZoneIndex;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    
+    @Value("${app.users.batch.chunk-size:500}")
+    private int batchChunkSize;
     
     @Transactional
     public User createUserWithDefaults(@Valid User user) {
-        if (userRepository.existsByUsername(user.getUsername())) {
+        if (usernameTaken(user.getUsername())) {
             throw new IllegalArgumentException("Username already exists: " + user.getUsername());
         }
         
-        if (userRepository.existsByEmail(user.getEmail())) {
+        if (emailTaken(user.getEmail())) {
             throw new IllegalArgumentException("Email already exists: " + user.getEmail());
         }
         
         User savedUser = userRepository.save(user);
+        userIdentityFilter.add(savedUser.getUsername(), savedUser.getEmail());
+        userDetailsCache.invalidateKeys(savedUser.getUsername(), savedUser.getEmail());
         
         Profile defaultProfile = Profile.builder()
             .user(savedUser)
@@ -51,33 +98,210 @@ public class UserService {
         
         savedUser.setProfile(savedProfile);
         savedUser.setSettings(savedSettings);
+        timeZoneIndex.update(savedUser.getId(), savedSettings.getTimeZone());
+        
+        statisticsCounters.recordChange(Set.of(), StatisticsCounters.union(
+            StatisticsCounters.bucketsOf(savedUser),
+            StatisticsCounters.bucketsOf(savedProfile),
+            StatisticsCounters.bucketsOf(savedSettings)));
+        statisticsCounters.recordDistributionChange(Map.of(), StatisticsCounters.distributionOf(savedSettings));
         
         return savedUser;
     }
     
-    @Transactional(readOnly = true)
-    public Optional<User> findUserWithDetails(String usernameOrEmail) {
-        Optional<User> userOpt = userRepository.findByUsernameOrEmail(usernameOrEmail);
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            if (user.getProfile() != null) {
-                user.getProfile().getFullName();
+    @Transactional
+    public BatchCreationResult createUsersInBatch(List<User> users) {
+        List<BatchRowResult> results = new ArrayList<>(users.size());
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        entityManager.flush();
+        
+        for (int from = 0; from < users.size(); from += batchChunkSize) {
+            int to = Math.min(from + batchChunkSize, users.size());
+            createChunk(users.subList(from, to), from, seenUsernames, seenEmails, results);
+        }
+        
+        int created = (int) results.stream()
+            .filter(result -> result.getStatus() == BatchRowStatus.CREATED)
+            .count();
+        log.debug("Batch creation finished: {} requested, {} created", users.size(), created);
+        
+        return BatchCreationResult.builder()
+            .requested(users.size())
+            .created(created)
+            .failed(users.size() - created)
+            .results(results)
+            .build();
+    }
+    
+    private void createChunk(List<User> chunk, int offset, Set<String> seenUsernames, Set<String> seenEmails,
+                             List<BatchRowResult> results) {
+        BatchRowResult[] chunkResults = new BatchRowResult[chunk.size()];
+        List<Integer> candidates = new ArrayList<>(chunk.size());
+        
+        for (int i = 0; i < chunk.size(); i++) {
+            User user = chunk.get(i);
+            Set<ConstraintViolation<User>> violations = validator.validate(user);
+            if (!violations.isEmpty()) {
+                String message = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+                chunkResults[i] = rowResult(offset + i, user, BatchRowStatus.INVALID, message);
+            } else if (seenUsernames.contains(user.getUsername())) {
+                chunkResults[i] = rowResult(offset + i, user, BatchRowStatus.DUPLICATE_USERNAME,
+                    "Username already exists: " + user.getUsername());
+            } else if (seenEmails.contains(user.getEmail())) {
+                chunkResults[i] = rowResult(offset + i, user, BatchRowStatus.DUPLICATE_EMAIL,
+                    "Email already exists: " + user.getEmail());
+            } else {
+                seenUsernames.add(user.getUsername());
+                seenEmails.add(user.getEmail());
+                candidates.add(i);
+            }
+        }
+        
+        Set<String> existingUsernames = new HashSet<>();
+        Set<String> existingEmails = new HashSet<>();
+        if (!candidates.isEmpty()) {
+            List<String> usernames = candidates.stream().map(i -> chunk.get(i).getUsername()).toList();
+            List<String> emails = candidates.stream().map(i -> chunk.get(i).getEmail()).toList();
+            for (String[] existing : userBulkRepository.findExistingUsernamesAndEmails(usernames, emails)) {
+                existingUsernames.add(existing[0]);
+                existingEmails.add(existing[1]);
             }
-            if (user.getSettings() != null) {
-                user.getSettings().getTheme();
+        }
+        
+        List<User> toInsert = new ArrayList<>(candidates.size());
+        List<Integer> insertedIndexes = new ArrayList<>(candidates.size());
+        for (int i : candidates) {
+            User user = chunk.get(i);
+            if (existingUsernames.contains(user.getUsername())) {
+                chunkResults[i] = rowResult(offset + i, user, BatchRowStatus.DUPLICATE_USERNAME,
+                    "Username already exists: " + user.getUsername());
+            } else if (existingEmails.contains(user.getEmail())) {
+                chunkResults[i] = rowResult(offset + i, user, BatchRowStatus.DUPLICATE_EMAIL,
+                    "Email already exists: " + user.getEmail());
+            } else {
+                if (user.getStatus() == null) {
+                    user.setStatus(User.UserStatus.ACTIVE);
+                }
+                if (user.getCreatedAt() == null) {
+                    user.setCreatedAt(LocalDateTime.now());
+                }
+                toInsert.add(user);
+                insertedIndexes.add(i);
             }
         }
         
-        return userOpt;
+        List<Long> userIds = userBulkRepository.insertUsers(toInsert);
+        toInsert.forEach(user -> {
+            userIdentityFilter.add(user.getUsername(), user.getEmail());
+            userDetailsCache.invalidateKeys(user.getUsername(), user.getEmail());
+        });
+        userBulkRepository.insertDefaultProfiles(userIds);
+        userBulkRepository.insertDefaultSettings(userIds);
+        timeZoneIndex.updateAll(userIds, Settings.builder().build().getTimeZone());
+        
+        Set<StatisticsCounters.Bucket> defaultBuckets = StatisticsCounters.union(
+            StatisticsCounters.bucketsOf(Profile.builder().isPublic(true).build()),
+            StatisticsCounters.bucketsOf(Settings.builder().build()));
+        statisticsCounters.recordCreated(toInsert.stream()
+            .map(user -> StatisticsCounters.union(StatisticsCounters.bucketsOf(user), defaultBuckets))
+            .toList());
+        statisticsCounters.recordDistributionsCreated(
+            StatisticsCounters.distributionOf(Settings.builder().build()), toInsert.size());
+        
+        for (int k = 0; k < toInsert.size(); k++) {
+            int i = insertedIndexes.get(k);
+            User user = toInsert.get(k);
+            user.setId(userIds.get(k));
+            chunkResults[i] = rowResult(offset + i, user, BatchRowStatus.CREATED, null);
+        }
+        
+        results.addAll(List.of(chunkResults));
+    }
+    
+    private boolean usernameTaken(String username) {
+        if (!userIdentityFilter.mightContainUsername(username)) {
+            return false;
+        }
+        boolean exists = userRepository.existsByUsername(username);
+        userIdentityFilter.recordConfirmation(exists);
+        return exists;
+    }
+    
+    private boolean emailTaken(String email) {
+        if (!userIdentityFilter.mightContainEmail(email)) {
+            return false;
+        }
+        boolean exists = userRepository.existsByEmail(email);
+        userIdentityFilter.recordConfirmation(exists);
+        return exists;
+    }
+    
+    private BatchRowResult rowResult(int index, User user, BatchRowStatus status, String message) {
+        return BatchRowResult.builder()
+            .index(index)
+            .username(user.getUsername())
+            .email(user.getEmail())
+            .userId(user.getId())
+            .status(status)
+            .message(message)
+            .build();
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<UserDetails> findUserDetails(String usernameOrEmail) {
+        return userRepository.findDetailsByUsernameOrEmail(usernameOrEmail)
+            .map(UserService::toUserDetails);
+    }
+    
+    @Transactional(readOnly = true)
+    public Map<String, UserDetails> lookupUserDetails(Collection<String> usernamesOrEmails) {
+        if (usernamesOrEmails.isEmpty()) {
+            return Map.of();
+        }
+        
+        Map<String, UserDetails> byKey = new HashMap<>();
+        for (UserDetailsView view : userRepository.findDetailsByUsernamesOrEmails(usernamesOrEmails)) {
+            UserDetails details = toUserDetails(view);
+            byKey.put(details.getUsername(), details);
+            byKey.put(details.getEmail(), details);
+        }
+        
+        Map<String, UserDetails> found = new LinkedHashMap<>();
+        for (String key : usernamesOrEmails) {
+            UserDetails details = byKey.get(key);
+            if (details != null) {
+                found.put(key, details);
+            }
+        }
+        return found;
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> getLastModified(Long userId) {
+        return userRepository.findLastModifiedById(userId)
+            .map(UserLastModifiedView::getLastModified);
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<UserVersion> findUserVersion(String usernameOrEmail) {
+        return userRepository.findLastModifiedByUsernameOrEmail(usernameOrEmail)
+            .map(UserService::toUserVersion);
     }
     
     @Transactional
     public User updateUserStatus(Long userId, User.UserStatus newStatus) {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
+        Set<StatisticsCounters.Bucket> before = StatisticsCounters.union(
+            StatisticsCounters.bucketsOf(user), StatisticsCounters.bucketsOf(user.getProfile()));
         
         user.setStatus(newStatus);
         user.setUpdatedAt(LocalDateTime.now());
+        userDetailsCache.invalidateUser(userId);
         
         if (newStatus == User.UserStatus.SUSPENDED || newStatus == User.UserStatus.DELETED) {
             Profile profile = user.getProfile();
@@ -88,6 +312,17 @@ public class UserService {
             }
         }
         
+        statisticsCounters.recordChange(before, StatisticsCounters.union(
+            StatisticsCounters.bucketsOf(user), StatisticsCounters.bucketsOf(user.getProfile())));
+        
+        Profile currentProfile = user.getProfile();
+        if (currentProfile != null) {
+            boolean eligible = newStatus == User.UserStatus.ACTIVE && Boolean.TRUE.equals(currentProfile.getIsPublic());
+            profileNameIndex.update(currentProfile.getId(), currentProfile.getFirstName(),
+                currentProfile.getLastName(), eligible);
+            profileBirthDateIndex.update(currentProfile.getId(), currentProfile.getBirthDate(), eligible);
+        }
+        
         return userRepository.save(user);
     }
     
@@ -95,42 +330,275 @@ public class UserService {
     public void deleteUser(Long userId) {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
+        Set<StatisticsCounters.Bucket> before = StatisticsCounters.union(
+            StatisticsCounters.bucketsOf(user),
+            StatisticsCounters.bucketsOf(user.getProfile()),
+            StatisticsCounters.bucketsOf(user.getSettings()));
+        Map<StatisticsCounters.Dimension, String> distributionBefore =
+            StatisticsCounters.distributionOf(user.getSettings());
         
         userRepository.delete(user);
+        statisticsCounters.recordChange(before, Set.of());
+        statisticsCounters.recordDistributionChange(distributionBefore, Map.of());
+        if (user.getProfile() != null) {
+            profileNameIndex.remove(user.getProfile().getId(), true);
+            profileBirthDateIndex.remove(user.getProfile().getId(), true);
+        }
+        timeZoneIndex.remove(userId, true);
+        userIdentityFilter.recordRemoval();
+        userDetailsCache.invalidateUser(userId);
+        userDetailsCache.invalidateKeys(user.getUsername(), user.getEmail());
     }
     
     @Transactional(readOnly = true)
-    public List<User> findActiveUsersWithPublicProfiles() {
-        return userRepository.findActiveUsersWithProfiles().stream()
-            .filter(user -> user.getProfile() != null && user.getProfile().getIsPublic())
+    public List<PublicUserSummary> findActiveUsersWithPublicProfiles() {
+        return userRepository.findActiveUsersWithPublicProfiles().stream()
+            .map(UserService::toPublicUserSummary)
             .toList();
     }
     
+    @Transactional(readOnly = true)
+    public List<PublicUserSummary> findActiveUsersWithPublicProfiles(Long afterId, int limit) {
+        return userRepository.findActiveUsersWithPublicProfilesAfter(
+                afterId != null ? afterId : 0L, PageRequest.of(0, limit)).stream()
+            .map(UserService::toPublicUserSummary)
+            .toList();
+    }
+    
+    @Transactional(readOnly = true)
+    public long streamActiveUsersWithPublicProfiles(Consumer<PublicUserSummary> consumer) {
+        long streamed = 0;
+        try (Stream<PublicUserSummaryView> users = userRepository.streamActiveUsersWithPublicProfiles()) {
+            Iterator<PublicUserSummaryView> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                consumer.accept(toPublicUserSummary(iterator.next()));
+                streamed++;
+            }
+        }
+        return streamed;
+    }
+    
     @Transactional(readOnly = true)
     public UserStatistics getUserStatistics() {
-        long totalUsers = userRepository.count();
-        long activeUsers = userRepository.countByStatus(User.UserStatus.ACTIVE);
-        long suspendedUsers = userRepository.countByStatus(User.UserStatus.SUSPENDED);
-        long deletedUsers = userRepository.countByStatus(User.UserStatus.DELETED);
-        
-        long publicProfiles = profileRepository.countByIsPublic(true);
-        long privateProfiles = profileRepository.countByIsPublic(false);
+        if (statisticsCounters.isServing()) {
+            return UserStatistics.builder()
+                .totalUsers(statisticsCounters.get(StatisticsCounters.Bucket.TOTAL_USERS))
+                .activeUsers(statisticsCounters.get(StatisticsCounters.Bucket.ACTIVE_USERS))
+                .suspendedUsers(statisticsCounters.get(StatisticsCounters.Bucket.SUSPENDED_USERS))
+                .deletedUsers(statisticsCounters.get(StatisticsCounters.Bucket.DELETED_USERS))
+                .publicProfiles(statisticsCounters.get(StatisticsCounters.Bucket.PUBLIC_PROFILES))
+                .privateProfiles(statisticsCounters.get(StatisticsCounters.Bucket.PRIVATE_PROFILES))
+                .usersWithEmailNotifications(statisticsCounters.get(StatisticsCounters.Bucket.EMAIL_NOTIFICATIONS))
+                .usersWithTwoFactor(statisticsCounters.get(StatisticsCounters.Bucket.TWO_FACTOR))
+                .build();
+        }
         
-        long usersWithEmailNotifications = settingsRepository.findByEmailNotificationsTrue().size();
-        long usersWithTwoFactor = settingsRepository.findByTwoFactorEnabledTrue().size();
+        UserStatisticsView view = userRepository.aggregateStatistics();
         
         return UserStatistics.builder()
-            .totalUsers(totalUsers)
-            .activeUsers(activeUsers)
-            .suspendedUsers(suspendedUsers)
-            .deletedUsers(deletedUsers)
-            .publicProfiles(publicProfiles)
-            .privateProfiles(privateProfiles)
-            .usersWithEmailNotifications(usersWithEmailNotifications)
-            .usersWithTwoFactor(usersWithTwoFactor)
+            .totalUsers(view.getTotalUsers())
+            .activeUsers(view.getActiveUsers())
+            .suspendedUsers(view.getSuspendedUsers())
+            .deletedUsers(view.getDeletedUsers())
+            .publicProfiles(view.getPublicProfiles())
+            .privateProfiles(view.getPrivateProfiles())
+            .usersWithEmailNotifications(view.getUsersWithEmailNotifications())
+            .usersWithTwoFactor(view.getUsersWithTwoFactor())
+            .build();
+    }
+    
+    private static UserDetails toUserDetails(UserDetailsView view) {
+        ProfileDetails profile = view.getProfileId() == null ? null : ProfileDetails.builder()
+            .firstName(view.getFirstName())
+            .lastName(view.getLastName())
+            .bio(view.getBio())
+            .location(view.getLocation())
+            .birthDate(view.getBirthDate())
+            .phoneNumber(view.getPhoneNumber())
+            .website(view.getWebsite())
+            .profileImageUrl(view.getProfileImageUrl())
+            .gender(view.getGender())
+            .isPublic(view.getIsPublic())
+            .build();
+        SettingsDetails settings = view.getSettingsId() == null ? null : SettingsDetails.builder()
+            .theme(view.getTheme())
+            .languageCode(view.getLanguageCode())
+            .timeZone(view.getTimeZone())
+            .dateFormat(view.getDateFormat())
+            .profileVisibility(view.getProfileVisibility())
+            .allowMessages(view.getAllowMessages())
+            .showOnlineStatus(view.getShowOnlineStatus())
+            .emailNotifications(view.getEmailNotifications())
+            .pushNotifications(view.getPushNotifications())
+            .smsNotifications(view.getSmsNotifications())
+            .notificationFrequency(view.getNotificationFrequency())
+            .itemsPerPage(view.getItemsPerPage())
+            .autoSave(view.getAutoSave())
+            .autoSaveInterval(view.getAutoSaveInterval())
+            .twoFactorEnabled(view.getTwoFactorEnabled())
+            .sessionTimeout(view.getSessionTimeout())
+            .build();
+        return UserDetails.builder()
+            .id(view.getUserId())
+            .username(view.getUsername())
+            .email(view.getEmail())
+            .status(view.getStatus())
+            .createdAt(view.getUserCreatedAt())
+            .updatedAt(view.getUserUpdatedAt())
+            .profile(profile)
+            .settings(settings)
+            .version(toUserVersion(view))
+            .build();
+    }
+    
+    private static UserVersion toUserVersion(UserLastModifiedView view) {
+        Instant lastModified = view.getLastModified().atZone(ZoneId.systemDefault()).toInstant();
+        String eTag = view.getUserId() + "-" +
+            Long.toHexString(TimeUnit.SECONDS.toNanos(lastModified.getEpochSecond()) + lastModified.getNano()) + "-" +
+            Objects.requireNonNullElse(view.getProfileVersion(), -1L) + "-" +
+            Objects.requireNonNullElse(view.getSettingsVersion(), -1L);
+        return UserVersion.builder()
+            .eTag(eTag)
+            .lastModified(lastModified)
+            .build();
+    }
+    
+    private static PublicUserSummary toPublicUserSummary(PublicUserSummaryView view) {
+        return PublicUserSummary.builder()
+            .id(view.getId())
+            .username(view.getUsername())
+            .status(view.getStatus())
+            .createdAt(view.getCreatedAt())
+            .firstName(view.getFirstName())
+            .lastName(view.getLastName())
+            .bio(view.getBio())
+            .location(view.getLocation())
+            .profileImageUrl(view.getProfileImageUrl())
             .build();
     }
     
+    @lombok.Data
+    @lombok.Builder
+    public static class UserAccount {
+        private Long id;
+        private String username;
+        private String email;
+        private User.UserStatus status;
+        private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
+        
+        public static UserAccount of(User user) {
+            return UserAccount.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .status(user.getStatus())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .build();
+        }
+    }
+    
+    @lombok.Data
+    @lombok.Builder
+    public static class UserDetails {
+        private Long id;
+        private String username;
+        private String email;
+        private User.UserStatus status;
+        private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
+        private ProfileDetails profile;
+        private SettingsDetails settings;
+        @JsonIgnore
+        private UserVersion version;
+    }
+    
+    @lombok.Data
+    @lombok.Builder
+    public static class LookupResult {
+        private int requested;
+        private int found;
+        private Map<String, UserDetails> users;
+        private List<String> missing;
+        
+        public static LookupResult of(Collection<String> keys, Map<String, UserDetails> resolved) {
+            Map<String, UserDetails> users = new LinkedHashMap<>();
+            List<String> missing = new ArrayList<>();
+            for (String key : keys) {
+                UserDetails details = resolved.get(key);
+                if (details != null) {
+                    users.put(key, details);
+                } else {
+                    missing.add(key);
+                }
+            }
+            return LookupResult.builder()
+                .requested(keys.size())
+                .found(users.size())
+                .users(users)
+                .missing(missing)
+                .build();
+        }
+    }
+    
+    @lombok.Data
+    @lombok.Builder
+    public static class UserVersion {
+        private String eTag;
+        private Instant lastModified;
+    }
+    
+    @lombok.Data
+    @lombok.Builder
+    public static class ProfileDetails {
+        private String firstName;
+        private String lastName;
+        private String bio;
+        private String location;
+        private LocalDate birthDate;
+        private String phoneNumber;
+        private String website;
+        private String profileImageUrl;
+        private Profile.Gender gender;
+        private Boolean isPublic;
+    }
+    
+    @lombok.Data
+    @lombok.Builder
+    public static class SettingsDetails {
+        private Settings.Theme theme;
+        private String languageCode;
+        private String timeZone;
+        private Settings.DateFormat dateFormat;
+        private Boolean profileVisibility;
+        private Boolean allowMessages;
+        private Boolean showOnlineStatus;
+        private Boolean emailNotifications;
+        private Boolean pushNotifications;
+        private Boolean smsNotifications;
+        private Settings.NotificationFrequency notificationFrequency;
+        private Integer itemsPerPage;
+        private Boolean autoSave;
+        private Integer autoSaveInterval;
+        private Boolean twoFactorEnabled;
+        private Integer sessionTimeout;
+    }
+    
+    @lombok.Data
+    @lombok.Builder
+    public static class PublicUserSummary {
+        private Long id;
+        private String username;
+        private User.UserStatus status;
+        private LocalDateTime createdAt;
+        private String firstName;
+        private String lastName;
+        private String bio;
+        private String location;
+        private String profileImageUrl;
+    }
+    
     @lombok.Data
     @lombok.Builder
     public static class UserStatistics {
@@ -143,4 +611,28 @@ public class UserService {
         private long usersWithEmailNotifications;
         private long usersWithTwoFactor;
     }
+    
+    @lombok.Data
+    @lombok.Builder
+    public static class BatchCreationResult {
+        private int requested;
+        private int created;
+        private int failed;
+        private List<BatchRowResult> results;
+    }
+    
+    @lombok.Data
+    @lombok.Builder
+    public static class BatchRowResult {
+        private int index;
+        private String username;
+        private String email;
+        private Long userId;
+        private BatchRowStatus status;
+        private String message;
+    }
+    
+    public enum BatchRowStatus {
+        CREATED, INVALID, DUPLICATE_USERNAME, DUPLICATE_EMAIL
+    }
 }
\ No newline at end of file
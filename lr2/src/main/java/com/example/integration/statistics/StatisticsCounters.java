@@ -0,0 +1,390 @@
+package com.example.integration.statistics;
+
+import com.example.integration.entity.Profile;
+import com.example.integration.entity.Settings;
+import com.example.integration.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+@Slf4j
+public class StatisticsCounters {
+    
+    private static final String RECONCILE_QUERY =
+        "SELECT * FROM " +
+        "(SELECT COUNT(*) AS total_users, " +
+        "COALESCE(SUM(CASE WHEN status = 'ACTIVE' THEN 1 ELSE 0 END), 0) AS active_users, " +
+        "COALESCE(SUM(CASE WHEN status = 'INACTIVE' THEN 1 ELSE 0 END), 0) AS inactive_users, " +
+        "COALESCE(SUM(CASE WHEN status = 'SUSPENDED' THEN 1 ELSE 0 END), 0) AS suspended_users, " +
+        "COALESCE(SUM(CASE WHEN status = 'DELETED' THEN 1 ELSE 0 END), 0) AS deleted_users " +
+        "FROM users) u " +
+        "CROSS JOIN (SELECT COUNT(*) AS total_profiles, " +
+        "COALESCE(SUM(CASE WHEN is_public = TRUE THEN 1 ELSE 0 END), 0) AS public_profiles, " +
+        "COALESCE(SUM(CASE WHEN is_public = FALSE THEN 1 ELSE 0 END), 0) AS private_profiles " +
+        "FROM profiles) p " +
+        "CROSS JOIN (SELECT COUNT(*) AS total_settings, " +
+        "COALESCE(SUM(CASE WHEN theme = 'LIGHT' THEN 1 ELSE 0 END), 0) AS light_theme, " +
+        "COALESCE(SUM(CASE WHEN theme = 'DARK' THEN 1 ELSE 0 END), 0) AS dark_theme, " +
+        "COALESCE(SUM(CASE WHEN theme = 'AUTO' THEN 1 ELSE 0 END), 0) AS auto_theme, " +
+        "COALESCE(SUM(CASE WHEN email_notifications = TRUE THEN 1 ELSE 0 END), 0) AS email_notifications, " +
+        "COALESCE(SUM(CASE WHEN push_notifications = TRUE THEN 1 ELSE 0 END), 0) AS push_notifications, " +
+        "COALESCE(SUM(CASE WHEN sms_notifications = TRUE THEN 1 ELSE 0 END), 0) AS sms_notifications, " +
+        "COALESCE(SUM(CASE WHEN two_factor_enabled = TRUE THEN 1 ELSE 0 END), 0) AS two_factor, " +
+        "COALESCE(SUM(CASE WHEN language_code = 'en' THEN 1 ELSE 0 END), 0) AS english_language " +
+        "FROM settings) s";
+    
+    private static final String DISTRIBUTION_QUERY =
+        "SELECT language_code, time_zone, notification_frequency, COUNT(*) AS total FROM settings " +
+        "GROUP BY language_code, time_zone, notification_frequency";
+    
+    public static final String UNSPECIFIED = "UNSPECIFIED";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final long reconcileWaitMillis;
+    private final Map<Bucket, LongAdder> counters = new EnumMap<>(Bucket.class);
+    private final Map<Dimension, Map<String, Long>> distributions = new EnumMap<>(Dimension.class);
+    private final ReentrantReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+    
+    public StatisticsCounters(JdbcTemplate jdbcTemplate,
+                              @Value("${app.statistics.counters.enabled:false}") boolean enabled,
+                              @Value("${app.statistics.counters.reconcile-wait-ms:5000}") long reconcileWaitMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.reconcileWaitMillis = reconcileWaitMillis;
+        for (Bucket bucket : Bucket.values()) {
+            counters.put(bucket, new LongAdder());
+        }
+        for (Dimension dimension : Dimension.values()) {
+            distributions.put(dimension, new ConcurrentHashMap<>());
+        }
+    }
+    
+    public boolean isServing() {
+        return enabled && ready;
+    }
+    
+    public long get(Bucket bucket) {
+        return counters.get(bucket).sum();
+    }
+    
+    public Map<String, Long> getDistribution(Dimension dimension) {
+        Map<String, Long> distribution = new TreeMap<>();
+        distributions.get(dimension).forEach((key, count) -> {
+            if (count != 0) {
+                distribution.put(key, count);
+            }
+        });
+        return distribution;
+    }
+    
+    public void recordChange(Set<Bucket> before, Set<Bucket> after) {
+        if (!enabled) {
+            return;
+        }
+        Map<Bucket, Long> deltas = new EnumMap<>(Bucket.class);
+        for (Bucket bucket : after) {
+            if (!before.contains(bucket)) {
+                deltas.merge(bucket, 1L, Long::sum);
+            }
+        }
+        for (Bucket bucket : before) {
+            if (!after.contains(bucket)) {
+                deltas.merge(bucket, -1L, Long::sum);
+            }
+        }
+        applyAfterCommit(deltas);
+    }
+    
+    public void recordCreated(Collection<Set<Bucket>> created) {
+        if (!enabled) {
+            return;
+        }
+        Map<Bucket, Long> deltas = new EnumMap<>(Bucket.class);
+        for (Set<Bucket> buckets : created) {
+            for (Bucket bucket : buckets) {
+                deltas.merge(bucket, 1L, Long::sum);
+            }
+        }
+        applyAfterCommit(deltas);
+    }
+    
+    public void recordDistributionChange(Map<Dimension, String> before, Map<Dimension, String> after) {
+        if (!enabled || before.equals(after)) {
+            return;
+        }
+        Map<Dimension, Map<String, Long>> deltas = new EnumMap<>(Dimension.class);
+        before.forEach((dimension, key) ->
+            deltas.computeIfAbsent(dimension, d -> new HashMap<>()).merge(key, -1L, Long::sum));
+        after.forEach((dimension, key) ->
+            deltas.computeIfAbsent(dimension, d -> new HashMap<>()).merge(key, 1L, Long::sum));
+        afterCommit(() -> applyDistributions(deltas));
+    }
+    
+    public void recordDistributionsCreated(Map<Dimension, String> distribution, long count) {
+        if (!enabled || distribution.isEmpty() || count == 0) {
+            return;
+        }
+        Map<Dimension, Map<String, Long>> deltas = new EnumMap<>(Dimension.class);
+        distribution.forEach((dimension, key) -> deltas.put(dimension, Map.of(key, count)));
+        afterCommit(() -> applyDistributions(deltas));
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (enabled) {
+            reconcile();
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${app.statistics.counters.reconcile-interval-ms:60000}",
+               initialDelayString = "${app.statistics.counters.reconcile-interval-ms:60000}")
+    public void scheduledReconcile() {
+        if (enabled) {
+            reconcile();
+        }
+    }
+    
+    public void reconcile() {
+        try {
+            if (!snapshotLock.writeLock().tryLock(reconcileWaitMillis, TimeUnit.MILLISECONDS)) {
+                log.info("Skipping statistics reconcile, commits kept the counters busy for {} ms", reconcileWaitMillis);
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            Map<Bucket, Long> actual = jdbcTemplate.queryForObject(RECONCILE_QUERY, (rs, rowNum) -> {
+                Map<Bucket, Long> values = new EnumMap<>(Bucket.class);
+                for (Bucket bucket : Bucket.values()) {
+                    values.put(bucket, rs.getLong(bucket.column));
+                }
+                return values;
+            });
+            long drift = 0;
+            for (Bucket bucket : Bucket.values()) {
+                LongAdder counter = counters.get(bucket);
+                long correction = actual.get(bucket) - counter.sum();
+                counter.add(correction);
+                drift += Math.abs(correction);
+            }
+            drift += reconcileDistributions();
+            if (ready && drift > 0) {
+                log.warn("Statistics counters drifted by {} and were reconciled", drift);
+            }
+            ready = true;
+        } finally {
+            snapshotLock.writeLock().unlock();
+        }
+    }
+    
+    private long reconcileDistributions() {
+        Map<Dimension, Map<String, Long>> actual = new EnumMap<>(Dimension.class);
+        for (Dimension dimension : Dimension.values()) {
+            actual.put(dimension, new HashMap<>());
+        }
+        jdbcTemplate.query(DISTRIBUTION_QUERY, rs -> {
+            long count = rs.getLong("total");
+            for (Dimension dimension : Dimension.values()) {
+                actual.get(dimension).merge(distributionKey(rs.getString(dimension.column)), count, Long::sum);
+            }
+        });
+        long drift = 0;
+        for (Dimension dimension : Dimension.values()) {
+            Map<String, Long> current = distributions.get(dimension);
+            Map<String, Long> expected = actual.get(dimension);
+            for (String key : current.keySet()) {
+                expected.putIfAbsent(key, 0L);
+            }
+            for (Map.Entry<String, Long> entry : expected.entrySet()) {
+                drift += Math.abs(entry.getValue() - current.getOrDefault(entry.getKey(), 0L));
+                if (entry.getValue() == 0) {
+                    current.remove(entry.getKey());
+                } else {
+                    current.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        return drift;
+    }
+    
+    public static Set<Bucket> bucketsOf(User user) {
+        EnumSet<Bucket> buckets = EnumSet.noneOf(Bucket.class);
+        if (user == null) {
+            return buckets;
+        }
+        buckets.add(Bucket.TOTAL_USERS);
+        if (user.getStatus() != null) {
+            buckets.add(Bucket.valueOf(user.getStatus().name() + "_USERS"));
+        }
+        return buckets;
+    }
+    
+    public static Set<Bucket> bucketsOf(Profile profile) {
+        EnumSet<Bucket> buckets = EnumSet.noneOf(Bucket.class);
+        if (profile == null) {
+            return buckets;
+        }
+        buckets.add(Bucket.TOTAL_PROFILES);
+        if (Boolean.TRUE.equals(profile.getIsPublic())) {
+            buckets.add(Bucket.PUBLIC_PROFILES);
+        } else if (Boolean.FALSE.equals(profile.getIsPublic())) {
+            buckets.add(Bucket.PRIVATE_PROFILES);
+        }
+        return buckets;
+    }
+    
+    public static Set<Bucket> bucketsOf(Settings settings) {
+        EnumSet<Bucket> buckets = EnumSet.noneOf(Bucket.class);
+        if (settings == null) {
+            return buckets;
+        }
+        buckets.add(Bucket.TOTAL_SETTINGS);
+        if (settings.getTheme() != null) {
+            buckets.add(Bucket.valueOf(settings.getTheme().name() + "_THEME"));
+        }
+        if (Boolean.TRUE.equals(settings.getEmailNotifications())) buckets.add(Bucket.EMAIL_NOTIFICATIONS);
+        if (Boolean.TRUE.equals(settings.getPushNotifications())) buckets.add(Bucket.PUSH_NOTIFICATIONS);
+        if (Boolean.TRUE.equals(settings.getSmsNotifications())) buckets.add(Bucket.SMS_NOTIFICATIONS);
+        if (Boolean.TRUE.equals(settings.getTwoFactorEnabled())) buckets.add(Bucket.TWO_FACTOR);
+        if ("en".equals(settings.getLanguageCode())) buckets.add(Bucket.ENGLISH_LANGUAGE);
+        return buckets;
+    }
+    
+    public static Map<Dimension, String> distributionOf(Settings settings) {
+        Map<Dimension, String> distribution = new EnumMap<>(Dimension.class);
+        if (settings == null) {
+            return distribution;
+        }
+        distribution.put(Dimension.LANGUAGE, distributionKey(settings.getLanguageCode()));
+        distribution.put(Dimension.TIME_ZONE, distributionKey(settings.getTimeZone()));
+        distribution.put(Dimension.NOTIFICATION_FREQUENCY, distributionKey(settings.getNotificationFrequency()));
+        return distribution;
+    }
+    
+    public static String distributionKey(Object value) {
+        return value != null ? value.toString() : UNSPECIFIED;
+    }
+    
+    @SafeVarargs
+    public static Set<Bucket> union(Set<Bucket>... sets) {
+        EnumSet<Bucket> buckets = EnumSet.noneOf(Bucket.class);
+        for (Set<Bucket> set : sets) {
+            buckets.addAll(set);
+        }
+        return buckets;
+    }
+    
+    private void applyAfterCommit(Map<Bucket, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> apply(deltas));
+    }
+    
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            snapshotLock.readLock().lock();
+            try {
+                action.run();
+            } finally {
+                snapshotLock.readLock().unlock();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean holdingSnapshotLock;
+            
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                snapshotLock.readLock().lock();
+                holdingSnapshotLock = true;
+            }
+            
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+            
+            @Override
+            public void afterCompletion(int status) {
+                if (holdingSnapshotLock) {
+                    holdingSnapshotLock = false;
+                    snapshotLock.readLock().unlock();
+                }
+            }
+        });
+    }
+    
+    private void apply(Map<Bucket, Long> deltas) {
+        deltas.forEach((bucket, delta) -> counters.get(bucket).add(delta));
+    }
+    
+    private void applyDistributions(Map<Dimension, Map<String, Long>> deltas) {
+        deltas.forEach((dimension, keys) -> keys.forEach((key, delta) -> {
+            if (delta != 0) {
+                distributions.get(dimension).merge(key, delta, (current, change) -> current + change == 0 ? null : current + change);
+            }
+        }));
+    }
+    
+    public enum Bucket {
+        TOTAL_USERS("total_users"),
+        ACTIVE_USERS("active_users"),
+        INACTIVE_USERS("inactive_users"),
+        SUSPENDED_USERS("suspended_users"),
+        DELETED_USERS("deleted_users"),
+        TOTAL_PROFILES("total_profiles"),
+        PUBLIC_PROFILES("public_profiles"),
+        PRIVATE_PROFILES("private_profiles"),
+        TOTAL_SETTINGS("total_settings"),
+        LIGHT_THEME("light_theme"),
+        DARK_THEME("dark_theme"),
+        AUTO_THEME("auto_theme"),
+        EMAIL_NOTIFICATIONS("email_notifications"),
+        PUSH_NOTIFICATIONS("push_notifications"),
+        SMS_NOTIFICATIONS("sms_notifications"),
+        TWO_FACTOR("two_factor"),
+        ENGLISH_LANGUAGE("english_language");
+        
+        private final String column;
+        
+        Bucket(String column) {
+            this.column = column;
+        }
+    }
+    
+    public enum Dimension {
+        LANGUAGE("language_code"),
+        TIME_ZONE("time_zone"),
+        NOTIFICATION_FREQUENCY("notification_frequency");
+        
+        private final String column;
+        
+        Dimension(String column) {
+            this.column = column;
+        }
+    }
+}
\ No newline at end of file
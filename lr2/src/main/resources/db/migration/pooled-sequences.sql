@@ -0,0 +1,14 @@
+-- Moves tables created with IDENTITY ids onto the pooled sequences used by the entities.
+-- Run once with the application stopped. INCREMENT BY must match app.ids.allocation-size.
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS profiles_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS settings_seq START WITH 1 INCREMENT BY 50;
+
+ALTER SEQUENCE users_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM users);
+ALTER SEQUENCE profiles_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM profiles);
+ALTER SEQUENCE settings_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM settings);
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE profiles ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE settings ALTER COLUMN id DROP IDENTITY;
@@ -0,0 +1,5 @@
+-- Adds the optimistic locking columns used by Profile and Settings.
+-- Existing rows start at version 0.
+
+ALTER TABLE profiles ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE settings ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,12 @@
+-- Backfills missing time zones and indexes settings.time_zone for per-local-time lookups.
+-- Only blank values, surrounding whitespace and case variants of UTC are fixed here; full IANA
+-- canonicalization needs the JVM zone database and happens on write through TimeZoneCodes.normalize.
+-- Unresolvable zones left in the table are treated as UTC by the time zone index.
+
+UPDATE settings SET time_zone = 'UTC' WHERE time_zone IS NULL OR TRIM(time_zone) = '';
+
+UPDATE settings SET time_zone = TRIM(time_zone) WHERE time_zone <> TRIM(time_zone);
+
+UPDATE settings SET time_zone = 'UTC' WHERE UPPER(time_zone) = 'UTC' AND time_zone <> 'UTC';
+
+CREATE INDEX IF NOT EXISTS idx_settings_time_zone ON settings (time_zone);
\ No newline at end of file
@@ -0,0 +1,131 @@
+package com.example.integration.integration;
+
+import com.example.integration.controller.AsyncRequestExecutor;
+import com.example.integration.entity.User;
+import com.example.integration.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+    "app.web.async.enabled=true",
+    "app.web.async.pool-size=1",
+    "app.web.async.queue-capacity=1",
+    "app.web.async.retry-after-seconds=2"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestUsers.class)
+public class AsyncRequestExecutorIntegrationTest {
+    
+    @Autowired
+    private TestUsers testUsers;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private AsyncRequestExecutor asyncRequestExecutor;
+    
+    @Autowired
+    private UserService userService;
+    
+    @BeforeEach
+    void setUp() {
+        testUsers.deleteAll();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        testUsers.deleteAll();
+    }
+    
+    @Test
+    void shouldServeUserEndpointsOnTheRequestExecutor() throws Exception {
+        userService.createUserWithDefaults(User.builder()
+            .username("asyncuser")
+            .email("asyncuser@example.com")
+            .password("password123")
+            .build());
+        long startedBefore = asyncRequestExecutor.getStats().getStarted();
+        
+        MvcResult result = mockMvc.perform(get("/api/users/asyncuser"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("asyncuser"));
+        
+        AsyncRequestExecutor.ExecutorStats stats = asyncRequestExecutor.getStats();
+        assertTrue(stats.isEnabled());
+        assertEquals(1, stats.getPoolSize());
+        assertEquals(1, stats.getQueueCapacity());
+        assertEquals(startedBefore + 1, stats.getStarted());
+    }
+    
+    @Test
+    void shouldRejectWithRetryAfterWhenExecutorIsSaturated() throws Exception {
+        long rejectedBefore = asyncRequestExecutor.getStats().getRejected();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        
+        CompletableFuture<ResponseEntity<Void>> blocking = asyncRequestExecutor.submit(() -> {
+            running.countDown();
+            await(release);
+            return ResponseEntity.ok().build();
+        });
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        CompletableFuture<ResponseEntity<Void>> queued = asyncRequestExecutor.submit(() -> ResponseEntity.ok().build());
+        assertEquals(1, asyncRequestExecutor.getStats().getQueueDepth());
+        
+        try {
+            MvcResult result = mockMvc.perform(get("/api/users/statistics"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
+            
+            mockMvc.perform(post("/api/users/lookup")
+                    .contentType("application/json")
+                    .content("[\"a\", \"b\"]"))
+                    .andExpect(request().asyncStarted());
+            assertEquals(rejectedBefore + 2, asyncRequestExecutor.getStats().getRejected());
+        } finally {
+            release.countDown();
+        }
+        
+        assertTrue(blocking.get(5, TimeUnit.SECONDS).getStatusCode().is2xxSuccessful());
+        assertTrue(queued.get(5, TimeUnit.SECONDS).getStatusCode().is2xxSuccessful());
+        AsyncRequestExecutor.ExecutorStats stats = asyncRequestExecutor.getStats();
+        assertEquals(0, stats.getQueueDepth());
+        assertTrue(stats.getMaxWaitMillis() > 0);
+        assertTrue(stats.getAverageWaitMillis() > 0);
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
\ No newline at end of file
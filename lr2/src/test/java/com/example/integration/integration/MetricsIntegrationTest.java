@@ -0,0 +1,168 @@
+package com.example.integration.integration;
+
+import com.example.integration.entity.Profile;
+import com.example.integration.entity.User;
+import com.example.integration.metrics.InvocationMetricsAspect;
+import com.example.integration.repository.UserRepository;
+import com.example.integration.service.ProfileService;
+import com.example.integration.service.SettingsService;
+import com.example.integration.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@FeatureIntegrationTest
+public class MetricsIntegrationTest {
+    
+    private static final String REPOSITORY_METRIC = "spring.data.repository.invocations";
+    
+    @Autowired
+    private TestUsers testUsers;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private ProfileService profileService;
+    
+    @Autowired
+    private SettingsService settingsService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @BeforeEach
+    void setUp() {
+        testUsers.deleteAll();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        testUsers.deleteAll();
+    }
+    
+    @Test
+    void shouldTimeServiceMethodsByOutcome() {
+        long created = serviceCount("UserService", "createUserWithDefaults", "SUCCESS");
+        long failedUpdates = serviceCount("ProfileService", "updateProfile", "ERROR");
+        long analytics = serviceCount("SettingsService", "getSettingsAnalytics", "SUCCESS");
+        
+        User user = testUsers.create("metered");
+        assertThrows(IllegalArgumentException.class, () ->
+            profileService.updateProfile(-1L, Profile.builder().firstName("Nobody").build()));
+        settingsService.getSettingsAnalytics();
+        
+        assertEquals(created + 1, serviceCount("UserService", "createUserWithDefaults", "SUCCESS"));
+        assertEquals(failedUpdates + 1, serviceCount("ProfileService", "updateProfile", "ERROR"));
+        assertEquals(analytics + 1, serviceCount("SettingsService", "getSettingsAnalytics", "SUCCESS"));
+        assertEquals("IllegalArgumentException", meterRegistry.get(InvocationMetricsAspect.SERVICE_METRIC)
+            .tags("service", "ProfileService", "method", "updateProfile", "outcome", "ERROR")
+            .timer().getId().getTag("exception"));
+        assertNotNull(user.getId());
+    }
+    
+    @Test
+    void shouldTimeSpringDataAndJdbcRepositoryQueries() {
+        long bulkInserts = repositoryCount("UserBulkRepository", "insertUsers");
+        long lookups = repositoryCount("UserRepository", "findByUsername");
+        
+        userService.createUsersInBatch(List.of(
+            User.builder().username("bulkmetered1").email("bulkmetered1@example.com").password("password123").build(),
+            User.builder().username("bulkmetered2").email("bulkmetered2@example.com").password("password123").build()));
+        userRepository.findByUsername("bulkmetered1");
+        
+        assertEquals(bulkInserts + 1, repositoryCount("UserBulkRepository", "insertUsers"));
+        assertEquals(lookups + 1, repositoryCount("UserRepository", "findByUsername"));
+    }
+    
+    @Test
+    void shouldPublishHibernatePoolAndApplicationGauges() {
+        testUsers.create("gauged");
+        
+        assertTrue(meterRegistry.get("hibernate.entities.inserts").functionCounter().count() >= 1);
+        assertNotNull(meterRegistry.get("hibernate.flushes").functionCounter());
+        assertNotNull(meterRegistry.get("hibernate.query.executions.max").timeGauge());
+        assertNotNull(meterRegistry.get("hikaricp.connections.active").gauge());
+        assertNotNull(meterRegistry.get("app.request.executor.queued").gauge());
+        assertNotNull(meterRegistry.get("app.notifications.pending").tag("frequency", "DAILY").gauge());
+    }
+    
+    @Test
+    void shouldExposePrometheusScrapeEndpoint() throws Exception {
+        testUsers.create("scraped");
+        
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("app_service_invocations_seconds_count{")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{")))
+                .andExpect(content().string(containsString("le=\"0.025\"")))
+                .andExpect(content().string(not(containsString("le=\"0.001048576\""))))
+                .andExpect(content().string(containsString("hibernate_sessions_open_total")))
+                .andExpect(content().string(containsString("hikaricp_connections_max")));
+    }
+    
+    @Test
+    void shouldPublishIdentityFilterStatsAndRebuildThroughActuator() throws Exception {
+        double negatives = meterRegistry.get("app.users.identity.filter.lookups").tag("result", "negative").functionCounter().count();
+        double possibleHits = meterRegistry.get("app.users.identity.filter.lookups").tag("result", "possible_hit").functionCounter().count();
+        double staleKeys = meterRegistry.get("app.users.identity.filter.stale.keys").gauge().value();
+        
+        User user = testUsers.create("filtered");
+        assertThrows(IllegalArgumentException.class, () -> testUsers.create("filtered"));
+        userService.deleteUser(user.getId());
+        
+        assertTrue(meterRegistry.get("app.users.identity.filter.keys").gauge().value() >= 2);
+        assertTrue(meterRegistry.get("app.users.identity.filter.memory").gauge().value() > 0);
+        assertTrue(meterRegistry.get("app.users.identity.filter.lookups").tag("result", "possible_hit").functionCounter().count() > possibleHits);
+        assertTrue(meterRegistry.get("app.users.identity.filter.lookups").tag("result", "negative").functionCounter().count() > negatives);
+        assertNotNull(meterRegistry.get("app.users.identity.filter.confirmations").tag("result", "false_positive").functionCounter());
+        assertEquals(staleKeys + 2, meterRegistry.get("app.users.identity.filter.stale.keys").gauge().value());
+        
+        mockMvc.perform(get("/actuator/identityfilter"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ready").value(true))
+                .andExpect(jsonPath("$.staleKeys").value((int) staleKeys + 2));
+        
+        testUsers.create("keptfirst");
+        testUsers.create("keptsecond");
+        testUsers.create("keptthird");
+        mockMvc.perform(post("/actuator/identityfilter"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.staleKeys").value(0))
+                .andExpect(jsonPath("$.keys").value(6));
+        assertEquals(0.0, meterRegistry.get("app.users.identity.filter.stale.keys").gauge().value());
+        assertEquals(6.0, meterRegistry.get("app.users.identity.filter.keys").gauge().value());
+    }
+    
+    private long serviceCount(String service, String method, String outcome) {
+        Timer timer = meterRegistry.find(InvocationMetricsAspect.SERVICE_METRIC)
+            .tags("service", service, "method", method, "outcome", outcome)
+            .timer();
+        return timer == null ? 0 : timer.count();
+    }
+    
+    private long repositoryCount(String repository, String method) {
+        Timer timer = meterRegistry.find(REPOSITORY_METRIC)
+            .tags("repository", repository, "method", method, "state", "SUCCESS")
+            .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,220 @@
+package com.example.integration.integration;
+
+import com.example.integration.entity.Settings;
+import com.example.integration.entity.User;
+import com.example.integration.notification.InMemoryNotificationSender;
+import com.example.integration.notification.NotificationChannel;
+import com.example.integration.notification.NotificationDigest;
+import com.example.integration.notification.NotificationDispatcher;
+import com.example.integration.notification.NotificationSchedule;
+import com.example.integration.notification.NotificationSender;
+import com.example.integration.repository.SettingsRepository;
+import com.example.integration.service.SettingsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@FeatureIntegrationTest
+public class NotificationDispatcherIntegrationTest {
+    
+    private static final Instant NOW = Instant.parse("2024-03-05T12:00:00Z");
+    
+    @Autowired
+    private TestUsers testUsers;
+    
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+    
+    @Autowired
+    private InMemoryNotificationSender notificationSender;
+    
+    @Autowired
+    private SettingsService settingsService;
+    
+    @Autowired
+    private SettingsRepository settingsRepository;
+    
+    @BeforeEach
+    void setUp() {
+        testUsers.deleteAll();
+        notificationDispatcher.dispatch(Instant.MAX);
+        notificationSender.clear();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        testUsers.deleteAll();
+    }
+    
+    @Test
+    void shouldDeliverImmediateNotificationsPerEnabledChannel() {
+        User user = createUser("immediate", Settings.NotificationFrequency.IMMEDIATE, "UTC");
+        
+        assertTrue(notificationDispatcher.publish(user.getId(), "first", NOW));
+        assertTrue(notificationDispatcher.publish(user.getId(), "second", NOW));
+        
+        assertEquals(2, notificationDispatcher.dispatch(NOW));
+        List<NotificationDigest> emails = notificationSender.getSent(NotificationChannel.EMAIL);
+        assertEquals(1, emails.size());
+        assertEquals(List.of("first", "second"), emails.get(0).getMessages());
+        assertEquals("immediate@example.com", emails.get(0).getEmail());
+        assertEquals(1, notificationSender.getSent(NotificationChannel.PUSH).size());
+        assertTrue(notificationSender.getSent(NotificationChannel.SMS).isEmpty());
+        assertEquals(0, notificationDispatcher.dispatch(NOW));
+    }
+    
+    @Test
+    void shouldHoldDailyDigestsUntilLocalMorning() {
+        User newYork = createUser("newyork", Settings.NotificationFrequency.DAILY, "America/New_York");
+        User tokyo = createUser("tokyo", Settings.NotificationFrequency.DAILY, "Asia/Tokyo");
+        
+        assertTrue(notificationDispatcher.publish(newYork.getId(), "digest item", NOW));
+        assertTrue(notificationDispatcher.publish(tokyo.getId(), "digest item", NOW));
+        assertEquals(0, notificationDispatcher.dispatch(NOW));
+        
+        Instant newYorkMorningEnd = ZonedDateTime.of(2024, 3, 5, 9, 0, 0, 0, ZoneId.of("America/New_York")).toInstant();
+        assertEquals(2, notificationDispatcher.dispatch(newYorkMorningEnd));
+        List<NotificationDigest> emails = notificationSender.getSent(NotificationChannel.EMAIL);
+        assertEquals(1, emails.size());
+        assertEquals(newYork.getId(), emails.get(0).getUserId());
+        assertEquals(Settings.NotificationFrequency.DAILY, emails.get(0).getFrequency());
+        LocalTime localSendTime = emails.get(0).getScheduledFor().atZone(ZoneId.of("America/New_York")).toLocalTime();
+        assertFalse(localSendTime.isBefore(LocalTime.of(8, 0)));
+        assertTrue(localSendTime.isBefore(LocalTime.of(9, 0)));
+        
+        Instant tokyoMorningEnd = ZonedDateTime.of(2024, 3, 6, 9, 0, 0, 0, ZoneId.of("Asia/Tokyo")).toInstant();
+        notificationSender.clear();
+        assertEquals(0, notificationDispatcher.dispatch(tokyoMorningEnd.minus(Duration.ofHours(1)).minusSeconds(1)));
+        assertEquals(2, notificationDispatcher.dispatch(tokyoMorningEnd));
+        assertEquals(tokyo.getId(), notificationSender.getSent(NotificationChannel.EMAIL).get(0).getUserId());
+    }
+    
+    @Test
+    void shouldSpreadDailyDigestsAcrossTheMorningWindow() {
+        NotificationSchedule schedule = new NotificationSchedule(LocalTime.of(8, 0), DayOfWeek.MONDAY, Duration.ofMinutes(60));
+        ZoneId zone = ZoneId.of("Europe/Berlin");
+        
+        Set<Instant> minutes = new HashSet<>();
+        for (long userId = 1; userId <= 500; userId++) {
+            Instant dueAt = schedule.nextDispatch(Settings.NotificationFrequency.DAILY, zone.getId(), userId, NOW);
+            LocalTime local = dueAt.atZone(zone).toLocalTime();
+            assertFalse(local.isBefore(LocalTime.of(8, 0)));
+            assertTrue(local.isBefore(LocalTime.of(9, 0)));
+            minutes.add(dueAt.truncatedTo(ChronoUnit.MINUTES));
+        }
+        assertTrue(minutes.size() > 50, "digests landed in only " + minutes.size() + " minutes");
+        
+        Instant weekly = schedule.nextDispatch(Settings.NotificationFrequency.WEEKLY, "Invalid/Zone", 7L, NOW);
+        assertEquals(DayOfWeek.MONDAY, weekly.atZone(ZoneId.of("UTC")).getDayOfWeek());
+        assertTrue(weekly.isAfter(NOW));
+    }
+    
+    @Test
+    void shouldBroadcastByKeysetChunksAndBatchPerChannel() {
+        createUser("broadcast1", Settings.NotificationFrequency.IMMEDIATE, "UTC");
+        createUser("broadcast2", Settings.NotificationFrequency.IMMEDIATE, "UTC");
+        createUser("broadcast3", Settings.NotificationFrequency.IMMEDIATE, "UTC");
+        createUser("broadcast4", Settings.NotificationFrequency.NEVER, "UTC");
+        User muted = createUser("broadcast5", Settings.NotificationFrequency.IMMEDIATE, "UTC");
+        settingsService.updateNotificationSettings(muted.getId(), SettingsService.NotificationPreferences.builder()
+            .emailNotifications(false)
+            .pushNotifications(false)
+            .smsNotifications(false)
+            .notificationFrequency(Settings.NotificationFrequency.IMMEDIATE)
+            .build());
+        
+        assertEquals(3, notificationDispatcher.broadcast("maintenance tonight", NOW));
+        assertEquals(6, notificationDispatcher.dispatch(NOW));
+        
+        List<Integer> emailBatchSizes = notificationSender.getBatches().stream()
+            .filter(batch -> batch.getChannel() == NotificationChannel.EMAIL)
+            .map(batch -> batch.getDigests().size())
+            .collect(Collectors.toList());
+        assertEquals(List.of(2, 1), emailBatchSizes);
+        assertEquals(Set.of("broadcast1", "broadcast2", "broadcast3"), notificationSender.getSent(NotificationChannel.PUSH)
+            .stream().map(NotificationDigest::getUsername).collect(Collectors.toSet()));
+    }
+    
+    @Test
+    void shouldDropQueuedDigestsForUsersWhoOptedOutBeforeDispatch() {
+        User user = createUser("optout", Settings.NotificationFrequency.HOURLY, "UTC");
+        assertTrue(notificationDispatcher.publish(user.getId(), "hourly item", NOW));
+        assertEquals(1, notificationDispatcher.getStats().getPendingDigests().get(Settings.NotificationFrequency.HOURLY));
+        long dropped = notificationDispatcher.getStats().getDropped();
+        
+        settingsService.patchSettings(user.getId(),
+            Settings.builder().notificationFrequency(Settings.NotificationFrequency.NEVER).build(),
+            List.of("notificationFrequency"));
+        assertFalse(notificationDispatcher.publish(user.getId(), "ignored", NOW));
+        
+        assertEquals(0, notificationDispatcher.dispatch(NOW.plus(Duration.ofHours(2))));
+        assertEquals(dropped + 1, notificationDispatcher.getStats().getDropped());
+        assertTrue(notificationSender.getBatches().isEmpty());
+    }
+    
+    @Test
+    void shouldRetryFailedBatchesInLaterDispatchesUntilAttemptsRunOut() {
+        User user = createUser("flaky", Settings.NotificationFrequency.IMMEDIATE, "UTC");
+        AtomicInteger failuresLeft = new AtomicInteger(1);
+        NotificationDispatcher dispatcher = dispatcherWith((channel, digests) -> {
+            if (channel == NotificationChannel.EMAIL && failuresLeft.getAndDecrement() > 0) {
+                throw new IllegalStateException("mail relay unavailable");
+            }
+            notificationSender.send(channel, digests);
+        });
+        
+        assertTrue(dispatcher.publish(user.getId(), "retry me", NOW));
+        assertEquals(1, dispatcher.dispatch(NOW));
+        assertTrue(notificationSender.getSent(NotificationChannel.EMAIL).isEmpty());
+        assertEquals(1, dispatcher.getStats().getPendingRetries());
+        assertEquals(0, dispatcher.dispatch(NOW.plusSeconds(30)));
+        
+        assertEquals(1, dispatcher.dispatch(NOW.plus(Duration.ofMinutes(1))));
+        assertEquals(List.of("retry me"), notificationSender.getSent(NotificationChannel.EMAIL).get(0).getMessages());
+        assertEquals(1, notificationSender.getSent(NotificationChannel.PUSH).size());
+        assertEquals(0, dispatcher.getStats().getPendingRetries());
+        
+        failuresLeft.set(Integer.MAX_VALUE);
+        assertTrue(dispatcher.publish(user.getId(), "never delivered", NOW));
+        Instant at = NOW;
+        for (int attempt = 0; attempt < 3; attempt++) {
+            dispatcher.dispatch(at);
+            at = at.plus(Duration.ofMinutes(1));
+        }
+        NotificationDispatcher.DispatchStats stats = dispatcher.getStats();
+        assertEquals(4, stats.getFailures());
+        assertEquals(3, stats.getRetried());
+        assertEquals(1, stats.getAbandoned());
+        assertEquals(0, stats.getPendingRetries());
+        assertEquals(0, dispatcher.dispatch(at.plus(Duration.ofHours(1))));
+    }
+    
+    private NotificationDispatcher dispatcherWith(NotificationSender sender) {
+        return new NotificationDispatcher(settingsRepository, sender, true, "08:00", DayOfWeek.MONDAY,
+            Duration.ofMinutes(60), 2, 2, 3, Duration.ofMinutes(1));
+    }
+    
+    private User createUser(String username, Settings.NotificationFrequency frequency, String timeZone) {
+        User user = testUsers.create(username);
+        settingsService.patchSettings(user.getId(),
+            Settings.builder().notificationFrequency(frequency).timeZone(timeZone).build(),
+            List.of("notificationFrequency", "timeZone"));
+        return user;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,216 @@
+package com.example.integration.integration;
+
+import com.example.integration.entity.Settings;
+import com.example.integration.repository.SettingsRepository;
+import com.example.integration.service.SettingsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@FeatureIntegrationTest
+public class OptimisticSettingsUpdateIntegrationTest {
+    
+    private static final int ROUNDS = 20;
+    
+    @Autowired
+    private TestUsers testUsers;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private SettingsService settingsService;
+    
+    @Autowired
+    private SettingsRepository settingsRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private ExecutorService executor;
+    
+    @BeforeEach
+    void setUp() {
+        testUsers.deleteAll();
+        executor = Executors.newFixedThreadPool(8);
+    }
+    
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        testUsers.deleteAll();
+    }
+    
+    @Test
+    void shouldNotLoseUpdatesFromConcurrentWritersOfDisjointFields() throws Exception {
+        Long userId = testUsers.create("contended", "contended@example.com").getId();
+        
+        List<Callable<Void>> writers = List.of(
+            rounds(i -> settingsService.patchSettings(userId,
+                Settings.builder().theme(Settings.Theme.values()[(i + 1) % 3]).build(), List.of("theme"))),
+            rounds(i -> settingsService.patchSettings(userId,
+                Settings.builder().itemsPerPage(21 + i).build(), List.of("itemsPerPage"))),
+            rounds(i -> settingsService.patchSettings(userId,
+                Settings.builder().autoSaveInterval(61 + i).build(), List.of("autoSaveInterval"))),
+            rounds(i -> settingsService.patchSettings(userId,
+                Settings.builder().languageCode("l" + i).build(), List.of("languageCode"))),
+            rounds(i -> settingsService.patchSettings(userId,
+                Settings.builder().timeZone("Etc/GMT-" + (i % 14)).build(), List.of("timeZone"))),
+            rounds(i -> settingsService.updateNotificationSettings(userId,
+                SettingsService.NotificationPreferences.builder()
+                    .emailNotifications(i % 2 == 1)
+                    .pushNotifications(true)
+                    .smsNotifications(false)
+                    .notificationFrequency(Settings.NotificationFrequency.values()[(i + 1) % 5])
+                    .build())),
+            rounds(i -> settingsService.updatePrivacySettings(userId,
+                SettingsService.PrivacyPreferences.builder()
+                    .profileVisibility(i % 2 == 1)
+                    .allowMessages(true)
+                    .showOnlineStatus(true)
+                    .build())),
+            rounds(i -> settingsService.updateSecuritySettings(userId,
+                SettingsService.SecurityPreferences.builder()
+                    .twoFactorEnabled(i % 2 == 0)
+                    .sessionTimeout(1441 + i)
+                    .build())));
+        
+        for (Future<Void> writer : executor.invokeAll(writers)) {
+            writer.get();
+        }
+        
+        Settings settings = settingsRepository.findByUserId(userId).orElseThrow();
+        assertEquals(writers.size() * ROUNDS, settings.getVersion());
+        assertEquals(Settings.Theme.AUTO, settings.getTheme());
+        assertEquals(40, settings.getItemsPerPage());
+        assertEquals(80, settings.getAutoSaveInterval());
+        assertEquals("l19", settings.getLanguageCode());
+        assertEquals("Etc/GMT-5", settings.getTimeZone());
+        assertEquals(Settings.NotificationFrequency.IMMEDIATE, settings.getNotificationFrequency());
+        assertTrue(settings.getEmailNotifications());
+        assertTrue(settings.getProfileVisibility());
+        assertFalse(settings.getTwoFactorEnabled());
+        assertEquals(1460, settings.getSessionTimeout());
+    }
+    
+    @Test
+    void shouldRetryAndMergeWhenAConcurrentWriterChangedOtherFields() throws Exception {
+        Long userId = testUsers.create("mergeable", "mergeable@example.com").getId();
+        
+        CountDownLatch release = holdSettingsRowLock(
+            "UPDATE settings SET push_notifications = FALSE, version = version + 1 WHERE user_id = ?", userId);
+        Future<Settings> update = executor.submit(() -> settingsService.patchSettings(userId,
+            Settings.builder().theme(Settings.Theme.DARK).build(), List.of("theme")));
+        awaitBlockedSession();
+        release.countDown();
+        
+        Settings merged = update.get(10, TimeUnit.SECONDS);
+        assertEquals(2, merged.getVersion());
+        
+        Settings settings = settingsRepository.findByUserId(userId).orElseThrow();
+        assertEquals(Settings.Theme.DARK, settings.getTheme());
+        assertFalse(settings.getPushNotifications());
+    }
+    
+    @Test
+    void shouldRespondWithConflictAndCurrentVersionWhenTheSameFieldChangedConcurrently() throws Exception {
+        Long userId = testUsers.create("conflicted", "conflicted@example.com").getId();
+        
+        CountDownLatch release = holdSettingsRowLock(
+            "UPDATE settings SET theme = 'AUTO', version = version + 1 WHERE user_id = ?", userId);
+        Future<MvcResult> response = executor.submit(() -> mockMvc.perform(patch("/api/users/{userId}/settings", userId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"theme\":\"DARK\"}"))
+            .andReturn());
+        awaitBlockedSession();
+        release.countDown();
+        
+        MvcResult result = response.get(10, TimeUnit.SECONDS);
+        assertEquals(409, result.getResponse().getStatus());
+        assertEquals("\"1\"", result.getResponse().getHeader("ETag"));
+        assertEquals("theme", result.getResponse().getHeader("X-Conflicting-Fields"));
+        assertTrue(result.getResponse().getContentAsString().contains("\"theme\":\"AUTO\""));
+        
+        assertEquals(Settings.Theme.AUTO, settingsRepository.findByUserId(userId).orElseThrow().getTheme());
+    }
+    
+    @Test
+    void shouldRespondNotFoundForUnknownUserAndBadRequestForInvalidPatch() throws Exception {
+        Long userId = testUsers.create("patched", "patched@example.com").getId();
+        
+        assertEquals(404, mockMvc.perform(patch("/api/users/{userId}/settings", userId + 1000)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"theme\":\"DARK\"}"))
+            .andReturn().getResponse().getStatus());
+        assertEquals(400, mockMvc.perform(patch("/api/users/{userId}/settings", userId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"theme\":\"PURPLE\"}"))
+            .andReturn().getResponse().getStatus());
+        assertEquals(400, mockMvc.perform(patch("/api/users/{userId}/settings", userId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"autoSaveInterval\":15}"))
+            .andReturn().getResponse().getStatus());
+    }
+    
+    private Callable<Void> rounds(RoundAction action) {
+        return () -> {
+            for (int i = 0; i < ROUNDS; i++) {
+                action.run(i);
+            }
+            return null;
+        };
+    }
+    
+    private CountDownLatch holdSettingsRowLock(String sql, Long userId) throws InterruptedException {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(sql, userId);
+            locked.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(locked.await(10, TimeUnit.SECONDS));
+        return release;
+    }
+    
+    private void awaitBlockedSession() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.SESSIONS WHERE BLOCKER_ID IS NOT NULL", Integer.class) == 0) {
+            assertTrue(System.currentTimeMillis() < deadline, "Update never waited on the held row lock");
+            Thread.sleep(10);
+        }
+    }
+    
+    @FunctionalInterface
+    private interface RoundAction {
+        void run(int round) throws Exception;
+    }
+}
\ No newline at end of file
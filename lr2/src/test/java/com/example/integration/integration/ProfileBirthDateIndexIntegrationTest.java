@@ -0,0 +1,116 @@
+package com.example.integration.integration;
+
+import com.example.integration.entity.Profile;
+import com.example.integration.entity.User;
+import com.example.integration.index.ProfileBirthDateIndex;
+import com.example.integration.service.ProfileService;
+import com.example.integration.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@FeatureIntegrationTest
+public class ProfileBirthDateIndexIntegrationTest {
+    
+    @Autowired
+    private TestUsers testUsers;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private ProfileService profileService;
+    
+    @Autowired
+    private ProfileBirthDateIndex profileBirthDateIndex;
+    
+    @BeforeEach
+    void setUp() {
+        testUsers.deleteAll();
+        profileBirthDateIndex.rebuild();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        testUsers.deleteAll();
+    }
+    
+    @Test
+    void shouldAnswerAgeRangesFromIndexInBirthDateOrderWithPaging() {
+        User youngest = createUserBornYearsAgo("age20", 20);
+        User middle = createUserBornYearsAgo("age30", 30);
+        User oldest = createUserBornYearsAgo("age40", 40);
+        createUserBornYearsAgo("age60", 60);
+        
+        assertTrue(profileBirthDateIndex.isServing());
+        assertEquals(List.of("age40", "age30", "age20"), usernames(profileService.getProfilesByAge(18, 45)));
+        
+        assertEquals(List.of("age40", "age30"),
+            usernames(profileService.getProfilesByAge(18, 45, PageRequest.of(0, 2))));
+        assertEquals(List.of("age20"),
+            usernames(profileService.getProfilesByAge(18, 45, PageRequest.of(1, 2))));
+        
+        userService.updateUserStatus(middle.getId(), User.UserStatus.SUSPENDED);
+        profileService.updateProfileVisibility(oldest.getId(), false);
+        profileService.updateProfile(youngest.getId(), Profile.builder()
+            .birthDate(LocalDate.now().minusYears(50).minusDays(1))
+            .build());
+        
+        assertTrue(profileService.getProfilesByAge(18, 45).isEmpty());
+        assertEquals(List.of("age60", "age20"), usernames(profileService.getProfilesByAge(45, 65)));
+        
+        profileBirthDateIndex.rebuild();
+        assertEquals(2, profileBirthDateIndex.size());
+    }
+    
+    @Test
+    void shouldKeepOneKeyPerProfileUnderConcurrentUpdates() throws Exception {
+        long profileId = 42L;
+        LocalDate base = LocalDate.of(1990, 1, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int writer = 0; writer < 8; writer++) {
+                int offset = writer;
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < 2000; i++) {
+                        profileBirthDateIndex.update(profileId, base.plusDays(offset * 2000L + i), i % 7 != 0);
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        profileBirthDateIndex.update(profileId, base, true);
+        assertEquals(1, profileBirthDateIndex.size());
+        assertEquals(List.of(profileId), profileBirthDateIndex.findProfileIds(base, base.plusYears(100), 0, 10));
+    }
+    
+    private User createUserBornYearsAgo(String username, int years) {
+        User user = testUsers.create(username);
+        profileService.updateProfile(user.getId(), Profile.builder()
+            .birthDate(LocalDate.now().minusYears(years).minusDays(1))
+            .build());
+        return user;
+    }
+    
+    private List<String> usernames(List<Profile> profiles) {
+        return profiles.stream().map(profile -> profile.getUser().getUsername()).toList();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,117 @@
+package com.example.integration.integration;
+
+import com.example.integration.entity.Profile;
+import com.example.integration.entity.User;
+import com.example.integration.index.ProfileNameIndex;
+import com.example.integration.service.ProfileService;
+import com.example.integration.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@FeatureIntegrationTest
+public class ProfileNameIndexIntegrationTest {
+    
+    @Autowired
+    private TestUsers testUsers;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private ProfileService profileService;
+    
+    @Autowired
+    private ProfileNameIndex profileNameIndex;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @BeforeEach
+    void setUp() {
+        testUsers.deleteAll();
+        profileNameIndex.rebuild();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        testUsers.deleteAll();
+    }
+    
+    @Test
+    void shouldRankExactPrefixAndSubstringMatchesFromIndex() {
+        createNamedUser("ann", "Ann", "Smith");
+        createNamedUser("anna", "Anna", "Brown");
+        createNamedUser("joanna", "Joanna", "White");
+        createNamedUser("bob", "Bob", "Hannigan");
+        
+        assertEquals(List.of("Ann Smith", "Anna Brown", "Joanna White", "Bob Hannigan"),
+            fullNames(profileService.searchPublicProfiles("ann")));
+        assertEquals(List.of("Bob Hannigan"), fullNames(profileService.searchPublicProfiles("HANNI")));
+        assertEquals(List.of("Ann Smith", "Anna Brown", "Joanna White", "Bob Hannigan"),
+            fullNames(profileService.searchPublicProfiles("an")));
+        assertEquals(List.of("Anna Brown", "Joanna White"), fullNames(profileService.searchPublicProfiles("na")));
+        assertEquals(List.of("Anna Brown", "Joanna White", "Bob Hannigan"),
+            fullNames(profileService.searchPublicProfiles("o")));
+        assertTrue(profileService.searchPublicProfiles("zzz").isEmpty());
+    }
+    
+    @Test
+    void shouldKeepOnlyPublicProfilesOfActiveUsersInIndex() {
+        User visible = createNamedUser("visible", "Carol", "Visible");
+        User suspended = createNamedUser("suspended", "Carol", "Suspended");
+        User hidden = createNamedUser("hidden", "Carol", "Hidden");
+        User deleted = createNamedUser("deleted", "Carol", "Deleted");
+        
+        assertEquals(4, profileService.searchPublicProfiles("carol").size());
+        
+        userService.updateUserStatus(suspended.getId(), User.UserStatus.SUSPENDED);
+        profileService.updateProfileVisibility(hidden.getId(), false);
+        userService.deleteUser(deleted.getId());
+        
+        List<Profile> results = profileService.searchPublicProfiles("carol");
+        assertEquals(1, results.size());
+        assertEquals(visible.getId(), results.get(0).getUser().getId());
+        
+        profileService.updateProfile(visible.getId(), Profile.builder().firstName("Caroline").build());
+        assertEquals(List.of("Caroline Visible"), fullNames(profileService.searchPublicProfiles("carol")));
+        
+        profileNameIndex.rebuild();
+        assertEquals(1, profileNameIndex.size());
+    }
+    
+    @Test
+    void shouldLoadIndexMatchesInBoundedChunksKeepingRankOrder() {
+        createNamedUser("dora", "Dora", "Lee");
+        createNamedUser("dorothy", "Dorothy", "Ames");
+        createNamedUser("theodora", "Theodora", "Kent");
+        createNamedUser("isidor", "Isidor", "Marsh");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        
+        assertEquals(List.of("Dora Lee", "Dorothy Ames", "Isidor Marsh", "Theodora Kent"),
+            fullNames(profileService.searchPublicProfiles("dor")));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+    
+    private User createNamedUser(String username, String firstName, String lastName) {
+        User user = testUsers.create(username);
+        profileService.updateProfile(user.getId(), Profile.builder()
+            .firstName(firstName)
+            .lastName(lastName)
+            .build());
+        return user;
+    }
+    
+    private List<String> fullNames(List<Profile> profiles) {
+        return profiles.stream().map(Profile::getFullName).toList();
+    }
+}
\ No newline at end of file
@@ -13,7 +13,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,6 +38,9 @@ public class ProfileServiceIntegrationTest {
     @Autowired
     private ProfileRepository profileRepository;
     
+    @Autowired
+    private EntityManager entityManager;
+    
     @BeforeEach
     void setUp() {
         profileRepository.deleteAll();
@@ -114,6 +119,55 @@ public class ProfileServiceIntegrationTest {
         assertEquals("Active User", userProfiles.get(0).getFullName());
     }
     
+    @Test
+    void shouldResolveProfileSearchesWithSingleQuery() {
+        for (int i = 0; i < 5; i++) {
+            User user = createTestUser("nplusone" + i, "nplusone" + i + "@example.com");
+            profileService.updateProfile(user.getId(), Profile.builder()
+                .firstName("Query" + i)
+                .lastName("Counter")
+                .birthDate(LocalDate.now().minusYears(30))
+                .build());
+        }
+        
+        List<Profile> byName = QueryCountAssertions.assertStatementCount(entityManager, 1, () -> {
+            List<Profile> profiles = profileService.searchPublicProfiles("counter");
+            profiles.forEach(profile -> profile.getUser().getStatus());
+            return profiles;
+        });
+        assertEquals(5, byName.size());
+        
+        List<Profile> all = QueryCountAssertions.assertStatementCount(entityManager, 1, () -> {
+            List<Profile> profiles = profileService.searchPublicProfiles(null);
+            profiles.forEach(profile -> profile.getUser().getStatus());
+            return profiles;
+        });
+        assertEquals(5, all.size());
+        
+        List<Profile> byAge = QueryCountAssertions.assertStatementCount(entityManager, 1, () -> {
+            List<Profile> profiles = profileService.getProfilesByAge(25, 35);
+            profiles.forEach(profile -> profile.getUser().getStatus());
+            return profiles;
+        });
+        assertEquals(5, byAge.size());
+    }
+    
+    @Test
+    void shouldUpdateProfileWithoutRewritingTheUserRow() {
+        User user = createTestUser("leanprofile", "leanprofile@example.com");
+        Long userId = user.getId();
+        LocalDateTime createdAt = userService.getLastModified(userId).orElseThrow();
+        
+        QueryCountAssertions.assertStatementCount(entityManager, 2, () -> {
+            Profile profile = profileService.updateProfileVisibility(userId, false);
+            entityManager.flush();
+            return profile;
+        });
+        
+        assertTrue(userService.getLastModified(userId).orElseThrow().isAfter(createdAt));
+        assertFalse(profileRepository.findByUserId(userId).orElseThrow().getIsPublic());
+    }
+    
     @Test
     void shouldUpdateProfileVisibilityWithBusinessLogic() {
         User user = createTestUser("visibilityuser", "visibility@example.com");
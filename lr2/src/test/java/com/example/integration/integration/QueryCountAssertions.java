@@ -0,0 +1,33 @@
+package com.example.integration.integration;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import javax.persistence.EntityManager;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class QueryCountAssertions {
+    
+    private QueryCountAssertions() {
+    }
+    
+    public static <T> T assertStatementCount(EntityManager entityManager, long expected, Supplier<T> action) {
+        Statistics statistics = entityManager.getEntityManagerFactory()
+            .unwrap(SessionFactory.class)
+            .getStatistics();
+        assertTrue(statistics.isStatisticsEnabled(), "hibernate.generate_statistics must be enabled");
+        
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        
+        T result = action.get();
+        
+        long actual = statistics.getPrepareStatementCount();
+        assertEquals(expected, actual,
+            "Expected " + expected + " JDBC statements but " + actual + " were executed (possible N+1 lazy loading)");
+        return result;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,148 @@
+package com.example.integration.integration;
+
+import com.example.integration.diagnostics.QueryDiagnostics;
+import com.example.integration.diagnostics.QueryDiagnosticsReport;
+import com.example.integration.entity.User;
+import com.example.integration.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@FeatureIntegrationTest
+public class QueryDiagnosticsIntegrationTest {
+    
+    @Autowired
+    private TestUsers testUsers;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private QueryDiagnostics queryDiagnostics;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private UserService userService;
+    
+    @BeforeEach
+    void setUp() {
+        testUsers.deleteAll();
+        queryDiagnostics.reset();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        testUsers.deleteAll();
+    }
+    
+    @Test
+    void shouldFlagRepeatedStatementShapesAsNPlusOne() {
+        List<Long> userIds = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            userIds.add(testUsers.create("repeated" + i).getId());
+        }
+        
+        QueryDiagnostics.Scope scope = queryDiagnostics.openService();
+        try {
+            for (Long userId : userIds) {
+                jdbcTemplate.queryForObject("SELECT username FROM users WHERE id = " + userId, String.class);
+            }
+        } finally {
+            queryDiagnostics.closeService(scope, "Loop.loadUsernames");
+        }
+        
+        QueryDiagnosticsReport.Offender offender = service("Loop.loadUsernames");
+        assertEquals(1, offender.getViolations());
+        assertEquals(1, offender.getRepeatedShapeViolations());
+        assertEquals(4, offender.getMaxStatements());
+        assertEquals(4, offender.getWorstShapeCount());
+        assertEquals("SELECT username FROM users WHERE id = ?", offender.getWorstShape());
+        assertTrue(offender.getWorstCallSite().startsWith("integration.QueryDiagnosticsIntegrationTest."),
+            offender.getWorstCallSite());
+    }
+    
+    @Test
+    void shouldCountStatementsPerServiceTransaction() {
+        testUsers.create("budgeted");
+        
+        QueryDiagnosticsReport.Offender offender = service("UserService.createUserWithDefaults");
+        assertEquals(1, offender.getExecutions());
+        assertTrue(offender.getMaxStatements() > 0);
+        assertEquals(0, offender.getRepeatedShapeViolations());
+        
+        userService.createUsersInBatch(List.of(
+            User.builder().username("budgeted1").email("budgeted1@example.com").password("password123").build(),
+            User.builder().username("budgeted2").email("budgeted2@example.com").password("password123").build(),
+            User.builder().username("budgeted3").email("budgeted3@example.com").password("password123").build()));
+        assertEquals(0, service("UserService.createUsersInBatch").getRepeatedShapeViolations());
+    }
+    
+    @Test
+    void shouldTrackAsyncRequestsAndExposeTopEndpoints() throws Exception {
+        testUsers.create("requested");
+        
+        MvcResult result = mockMvc.perform(get("/api/users/{usernameOrEmail}", "requested"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+        
+        QueryDiagnosticsReport.Offender endpoint = queryDiagnostics.getReport().getEndpoints().stream()
+            .filter(offender -> offender.getName().equals("GET /api/users/{usernameOrEmail}"))
+            .findFirst()
+            .orElseThrow();
+        assertEquals(1, endpoint.getExecutions());
+        assertTrue(endpoint.getMaxStatements() > 0);
+        
+        mockMvc.perform(get("/actuator/querydiagnostics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.maxStatements").value(5))
+                .andExpect(jsonPath("$.repeatedShapeThreshold").value(3))
+                .andExpect(jsonPath("$.endpoints[0].name").value("GET /api/users/{usernameOrEmail}"));
+        mockMvc.perform(delete("/actuator/querydiagnostics"))
+                .andExpect(status().is2xxSuccessful());
+        assertTrue(queryDiagnostics.getReport().getEndpoints().isEmpty());
+    }
+    
+    @Test
+    void shouldNotRecordRawUrisAsEndpoints() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/no-such-path/" + i))
+                    .andExpect(status().isNotFound());
+        }
+        
+        List<QueryDiagnosticsReport.Offender> endpoints = queryDiagnostics.getReport().getEndpoints();
+        assertEquals(1, endpoints.size());
+        assertFalse(endpoints.get(0).getName().contains("no-such-path"), endpoints.get(0).getName());
+        assertEquals(3, endpoints.get(0).getExecutions());
+    }
+    
+    @Test
+    void shouldKeepConnectionPoolMetricsBehindTheDiagnosticsDataSource() {
+        assertNotNull(meterRegistry.find("hikaricp.connections.active").gauge());
+    }
+    
+    private QueryDiagnosticsReport.Offender service(String name) {
+        return queryDiagnostics.getReport().getServices().stream()
+            .filter(offender -> offender.getName().equals(name))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("No diagnostics for " + name));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,167 @@
+package com.example.integration.integration;
+
+import com.example.integration.cache.SecondLevelCacheConfiguration;
+import com.example.integration.cache.SecondLevelCacheStatistics;
+import com.example.integration.entity.Profile;
+import com.example.integration.entity.Settings;
+import com.example.integration.entity.User;
+import com.example.integration.repository.ProfileRepository;
+import com.example.integration.repository.SettingsRepository;
+import com.example.integration.service.ProfileService;
+import com.example.integration.service.SettingsService;
+import com.example.integration.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@FeatureIntegrationTest
+public class SecondLevelCacheIntegrationTest {
+    
+    @Autowired
+    private TestUsers testUsers;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private SettingsService settingsService;
+    
+    @Autowired
+    private ProfileService profileService;
+    
+    @Autowired
+    private SecondLevelCacheStatistics secondLevelCacheStatistics;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private ProfileRepository profileRepository;
+    
+    @Autowired
+    private SettingsRepository settingsRepository;
+    
+    private Statistics statistics;
+    
+    @BeforeEach
+    void setUp() {
+        testUsers.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        testUsers.deleteAll();
+    }
+    
+    @Test
+    void shouldServeRepeatedSettingsAndProfileReadsFromCache() {
+        User user = testUsers.create("cached");
+        
+        settingsService.getSettingsWithUserDetails(user.getId());
+        profileService.getProfileWithUserDetails(user.getId());
+        statistics.clear();
+        
+        Settings settings = settingsService.getSettingsWithUserDetails(user.getId()).orElseThrow();
+        Profile profile = profileService.getProfileWithUserDetails(user.getId()).orElseThrow();
+        
+        assertEquals(Settings.Theme.LIGHT, settings.getTheme());
+        assertTrue(profile.getIsPublic());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getQueryCacheHitCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(SecondLevelCacheConfiguration.SETTINGS_REGION).getHitCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(SecondLevelCacheConfiguration.PROFILES_REGION).getHitCount());
+    }
+    
+    @Test
+    void shouldInvalidateCachedSettingsOnWritesThroughSettingsService() {
+        User user = testUsers.create("settingswriter");
+        settingsService.getSettingsWithUserDetails(user.getId());
+        
+        settingsService.updateSettings(user.getId(), Settings.builder().theme(Settings.Theme.DARK).build());
+        assertEquals(Settings.Theme.DARK, settingsService.getSettingsWithUserDetails(user.getId()).orElseThrow().getTheme());
+        
+        settingsService.updateSecuritySettings(user.getId(), SettingsService.SecurityPreferences.builder()
+            .twoFactorEnabled(true)
+            .sessionTimeout(120)
+            .build());
+        Settings settings = settingsService.getSettingsWithUserDetails(user.getId()).orElseThrow();
+        assertEquals(Settings.Theme.DARK, settings.getTheme());
+        assertTrue(settings.getTwoFactorEnabled());
+        assertEquals(120, settings.getSessionTimeout());
+        assertEquals(2L, settings.getVersion());
+    }
+    
+    @Test
+    void shouldInvalidateCachedProfileOnWritesThroughProfileService() {
+        User user = testUsers.create("profilewriter");
+        profileService.getProfileWithUserDetails(user.getId());
+        
+        profileService.updateProfile(user.getId(), Profile.builder().firstName("Cache").lastName("Writer").build());
+        assertEquals("Cache Writer", profileService.getProfileWithUserDetails(user.getId()).orElseThrow().getFullName());
+        
+        profileService.updateProfileVisibility(user.getId(), false);
+        Profile profile = profileService.getProfileWithUserDetails(user.getId()).orElseThrow();
+        assertFalse(profile.getIsPublic());
+        assertEquals("Cache", profile.getFirstName());
+        assertEquals(2L, profile.getVersion());
+    }
+    
+    @Test
+    void shouldEvictCachedQueryResultsAfterBulkInsert() {
+        assertTrue(settingsRepository.findByUserUsername("bulkcached").isEmpty());
+        assertTrue(profileRepository.findByUserUsername("bulkcached").isEmpty());
+        
+        userService.createUsersInBatch(List.of(User.builder()
+            .username("bulkcached")
+            .email("bulkcached@example.com")
+            .password("password123")
+            .build()));
+        
+        assertTrue(settingsRepository.findByUserUsername("bulkcached").isPresent());
+        assertTrue(profileRepository.findByUserUsername("bulkcached").isPresent());
+    }
+    
+    @Test
+    void shouldReportPerRegionStatistics() {
+        User user = testUsers.create("regionstats");
+        statistics.clear();
+        
+        settingsService.getSettingsWithUserDetails(user.getId());
+        settingsService.getSettingsWithUserDetails(user.getId());
+        settingsService.getSettingsWithUserDetails(user.getId());
+        
+        List<SecondLevelCacheStatistics.RegionStats> regions = secondLevelCacheStatistics.getRegionStats();
+        assertEquals(List.of("settings", "profiles", "settings-queries", "profiles-queries"),
+            regions.stream().map(SecondLevelCacheStatistics.RegionStats::getRegion).toList());
+        
+        SecondLevelCacheStatistics.RegionStats queries = secondLevelCacheStatistics.getRegionStats("settings-queries");
+        assertEquals(2, queries.getHits());
+        assertEquals(1, queries.getMisses());
+        assertEquals(1, queries.getPuts());
+        assertEquals(2.0 / 3.0, queries.getHitRate(), 1e-9);
+        assertEquals(0, secondLevelCacheStatistics.getRegionStats("profiles-queries").getHits());
+        assertThrows(IllegalArgumentException.class, () -> secondLevelCacheStatistics.getRegionStats("users"));
+        
+        assertEquals(2.0, meterRegistry.get("app.second.level.cache.requests")
+            .tags("region", "settings-queries", "result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("app.second.level.cache.requests")
+            .tags("region", "settings-queries", "result", "miss").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("app.second.level.cache.puts")
+            .tag("region", "settings-queries").functionCounter().count());
+        assertNotNull(meterRegistry.get("app.second.level.cache.requests").tags("region", "profiles", "result", "hit").functionCounter());
+    }
+}
\ No newline at end of file
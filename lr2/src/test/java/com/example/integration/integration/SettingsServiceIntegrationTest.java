@@ -13,6 +13,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,6 +37,9 @@ public class SettingsServiceIntegrationTest {
     @Autowired
     private SettingsRepository settingsRepository;
     
+    @Autowired
+    private EntityManager entityManager;
+    
     @BeforeEach
     void setUp() {
         settingsRepository.deleteAll();
@@ -189,6 +194,47 @@ public class SettingsServiceIntegrationTest {
         assertTrue(autoUsers.stream().anyMatch(u -> "auto".equals(u.getUsername())));
     }
     
+    @Test
+    void shouldResolveUsersByThemeWithSingleQuery() {
+        for (int i = 0; i < 5; i++) {
+            User user = createTestUser("themed" + i, "themed" + i + "@example.com");
+            settingsService.updateSettings(user.getId(), Settings.builder()
+                .theme(Settings.Theme.DARK)
+                .build());
+        }
+        
+        List<User> darkUsers = QueryCountAssertions.assertStatementCount(entityManager, 1, () -> {
+            List<User> users = settingsService.getUsersByTheme(Settings.Theme.DARK);
+            users.forEach(user -> user.getSettings().getTheme());
+            return users;
+        });
+        
+        assertEquals(5, darkUsers.size());
+    }
+    
+    @Test
+    void shouldUpdateSettingsWithoutRewritingTheUserRow() {
+        User user = createTestUser("leanwrite", "leanwrite@example.com");
+        Long userId = user.getId();
+        LocalDateTime createdAt = userService.getLastModified(userId).orElseThrow();
+        
+        SettingsService.NotificationPreferences preferences = SettingsService.NotificationPreferences.builder()
+            .emailNotifications(false)
+            .pushNotifications(true)
+            .smsNotifications(true)
+            .notificationFrequency(Settings.NotificationFrequency.HOURLY)
+            .build();
+        
+        QueryCountAssertions.assertStatementCount(entityManager, 2, () -> {
+            Settings settings = settingsService.updateNotificationSettings(userId, preferences);
+            entityManager.flush();
+            return settings;
+        });
+        
+        assertTrue(userService.getLastModified(userId).orElseThrow().isAfter(createdAt));
+        assertTrue(settingsService.getSettingsWithUserDetails(userId).orElseThrow().getSmsNotifications());
+    }
+    
     @Test
     void shouldGenerateComprehensiveSettingsAnalytics() {
         User user1 = createTestUser("analytics1", "analytics1@example.com");
@@ -224,6 +270,42 @@ public class SettingsServiceIntegrationTest {
         assertEquals(3, analytics.getEnglishUsers());
     }
     
+    @Test
+    void shouldComputeSettingsDistributionsWithSingleQuery() {
+        User user1 = createTestUser("distribution1", "distribution1@example.com");
+        User user2 = createTestUser("distribution2", "distribution2@example.com");
+        createTestUser("distribution3", "distribution3@example.com");
+        
+        settingsService.updateSettings(user1.getId(), Settings.builder()
+            .languageCode("fr")
+            .timeZone("Europe/Paris")
+            .pushNotifications(false)
+            .notificationFrequency(Settings.NotificationFrequency.DAILY)
+            .build());
+        
+        settingsService.updateSettings(user2.getId(), Settings.builder()
+            .languageCode("fr")
+            .timeZone("Europe/Paris")
+            .smsNotifications(true)
+            .notificationFrequency(Settings.NotificationFrequency.DAILY)
+            .build());
+        
+        SettingsService.SettingsAnalytics analytics = QueryCountAssertions.assertStatementCount(
+            entityManager, 1, () -> settingsService.getSettingsAnalytics());
+        
+        assertEquals(3, analytics.getTotalSettings());
+        assertEquals(2, analytics.getPushNotificationUsers());
+        assertEquals(1, analytics.getSmsNotificationUsers());
+        assertEquals(1, analytics.getEnglishUsers());
+        assertEquals(2L, analytics.getLanguageDistribution().get("fr"));
+        assertEquals(1L, analytics.getLanguageDistribution().get("en"));
+        assertEquals(2L, analytics.getTimeZoneDistribution().get("Europe/Paris"));
+        assertEquals(1L, analytics.getTimeZoneDistribution().get("UTC"));
+        assertEquals(2L, analytics.getNotificationFrequencyDistribution().get("DAILY"));
+        assertEquals(3L, analytics.getNotificationFrequencyDistribution().values().stream()
+            .mapToLong(Long::longValue).sum());
+    }
+    
     @Test
     void shouldHandleSettingsOperationsForNonExistentUsers() {
         Settings settingsUpdate = Settings.builder()
@@ -0,0 +1,150 @@
+package com.example.integration.integration;
+
+import com.example.integration.entity.Settings;
+import com.example.integration.entity.User;
+import com.example.integration.repository.SettingsRepository;
+import com.example.integration.service.SettingsService;
+import com.example.integration.service.SettingsWriteBehindBuffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@FeatureIntegrationTest
+public class SettingsWriteBehindIntegrationTest {
+    
+    @Autowired
+    private TestUsers testUsers;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private SettingsService settingsService;
+    
+    @Autowired
+    private SettingsWriteBehindBuffer settingsWriteBehindBuffer;
+    
+    @Autowired
+    private SettingsRepository settingsRepository;
+    
+    @BeforeEach
+    void setUp() {
+        testUsers.deleteAll();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        settingsWriteBehindBuffer.flush();
+        testUsers.deleteAll();
+    }
+    
+    @Test
+    void shouldCoalesceAutosaveTogglesUntilFlush() {
+        User user = testUsers.create("autosaver");
+        long buffered = settingsWriteBehindBuffer.getStats().getBuffered();
+        long coalesced = settingsWriteBehindBuffer.getStats().getCoalesced();
+        
+        settingsService.updateSettings(user.getId(), Settings.builder().autoSave(false).build());
+        settingsService.updateSettings(user.getId(), Settings.builder().autoSave(false).autoSaveInterval(30).build());
+        Settings returned = settingsService.updateSettings(user.getId(),
+            Settings.builder().autoSave(false).autoSaveInterval(45).build());
+        
+        assertFalse(returned.getAutoSave());
+        assertEquals(45, returned.getAutoSaveInterval());
+        Settings persisted = settingsRepository.findByUserId(user.getId()).orElseThrow();
+        assertTrue(persisted.getAutoSave());
+        assertEquals(60, persisted.getAutoSaveInterval());
+        
+        Settings view = settingsService.getSettingsWithUserDetails(user.getId()).orElseThrow();
+        assertFalse(view.getAutoSave());
+        assertEquals(45, view.getAutoSaveInterval());
+        assertEquals(buffered + 3, settingsWriteBehindBuffer.getStats().getBuffered());
+        assertEquals(coalesced + 2, settingsWriteBehindBuffer.getStats().getCoalesced());
+        
+        assertEquals(1, settingsWriteBehindBuffer.flush());
+        persisted = settingsRepository.findByUserId(user.getId()).orElseThrow();
+        assertFalse(persisted.getAutoSave());
+        assertEquals(45, persisted.getAutoSaveInterval());
+        assertEquals(1L, persisted.getVersion());
+        assertFalse(settingsService.hasPendingWrites(user.getId()));
+    }
+    
+    @Test
+    void shouldFlushPendingFieldsBeforeSynchronousWrites() {
+        User user = testUsers.create("mixedwriter");
+        
+        settingsService.updateSettings(user.getId(), Settings.builder().autoSave(false).build());
+        settingsService.patchSettings(user.getId(), Settings.builder().theme(Settings.Theme.DARK).build(), List.of("theme"));
+        
+        assertFalse(settingsService.hasPendingWrites(user.getId()));
+        Settings persisted = settingsRepository.findByUserId(user.getId()).orElseThrow();
+        assertFalse(persisted.getAutoSave());
+        assertEquals(Settings.Theme.DARK, persisted.getTheme());
+        assertEquals(2L, persisted.getVersion());
+    }
+    
+    @Test
+    void shouldFlushInOneBatchWhenPendingThresholdIsReached() {
+        User first = testUsers.create("threshold1");
+        User second = testUsers.create("threshold2");
+        User third = testUsers.create("threshold3");
+        long flushes = settingsWriteBehindBuffer.getStats().getFlushes();
+        
+        settingsService.updateSettings(first.getId(), Settings.builder().autoSave(false).build());
+        settingsService.updateSettings(second.getId(), Settings.builder().autoSave(false).build());
+        assertEquals(2, settingsWriteBehindBuffer.getStats().getPendingUsers());
+        settingsService.updateSettings(third.getId(), Settings.builder().autoSave(false).build());
+        
+        assertEquals(0, settingsWriteBehindBuffer.getStats().getPendingUsers());
+        assertEquals(flushes + 1, settingsWriteBehindBuffer.getStats().getFlushes());
+        assertEquals(0, settingsRepository.findByAutoSaveTrue().size());
+    }
+    
+    @Test
+    void shouldFlushPendingWritesOnShutdown() {
+        User user = testUsers.create("shutdownsaver");
+        settingsService.updateSettings(user.getId(), Settings.builder().autoSaveInterval(90).build());
+        
+        settingsWriteBehindBuffer.shutdown();
+        
+        assertEquals(90, settingsRepository.findByUserId(user.getId()).orElseThrow().getAutoSaveInterval());
+        assertEquals(0, settingsWriteBehindBuffer.getStats().getPendingUsers());
+    }
+    
+    @Test
+    void shouldServePendingSettingsWithoutValidatorsThroughRestApi() throws Exception {
+        User user = testUsers.create("restsaver");
+        settingsService.updateSettings(user.getId(), Settings.builder().autoSave(false).build());
+        
+        mockMvc.perform(get("/api/users/{userId}/settings", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.autoSave").value(false));
+        
+        settingsWriteBehindBuffer.flush();
+        mockMvc.perform(get("/api/users/{userId}/settings", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.autoSave").value(false));
+    }
+    
+    @Test
+    void shouldRejectInvalidBufferedValuesImmediately() {
+        User user = testUsers.create("invalidsaver");
+        
+        assertThrows(IllegalArgumentException.class, () ->
+            settingsService.updateSettings(user.getId(), Settings.builder().autoSaveInterval(15).build()));
+        
+        assertFalse(settingsService.hasPendingWrites(user.getId()));
+        assertEquals(60, settingsService.getSettingsWithUserDetails(user.getId()).orElseThrow().getAutoSaveInterval());
+    }
+}
\ No newline at end of file
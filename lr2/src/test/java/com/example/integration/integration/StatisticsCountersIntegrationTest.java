@@ -0,0 +1,183 @@
+package com.example.integration.integration;
+
+import com.example.integration.entity.Settings;
+import com.example.integration.entity.User;
+import com.example.integration.repository.SettingsRepository;
+import com.example.integration.service.ProfileService;
+import com.example.integration.service.SettingsService;
+import com.example.integration.service.UserService;
+import com.example.integration.statistics.StatisticsCounters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@FeatureIntegrationTest
+public class StatisticsCountersIntegrationTest {
+    
+    @Autowired
+    private TestUsers testUsers;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private ProfileService profileService;
+    
+    @Autowired
+    private SettingsService settingsService;
+    
+    @Autowired
+    private StatisticsCounters statisticsCounters;
+    
+    @Autowired
+    private SettingsRepository settingsRepository;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @BeforeEach
+    void setUp() {
+        testUsers.deleteAll();
+        statisticsCounters.reconcile();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        testUsers.deleteAll();
+    }
+    
+    @Test
+    void shouldMaintainCountersThroughServiceWritePaths() {
+        User active = testUsers.create("counted1", "counted1@example.com");
+        User suspended = testUsers.create("counted2", "counted2@example.com");
+        User deleted = testUsers.create("counted3", "counted3@example.com");
+        
+        userService.updateUserStatus(suspended.getId(), User.UserStatus.SUSPENDED);
+        settingsService.updateSettings(active.getId(), Settings.builder()
+            .theme(Settings.Theme.DARK)
+            .emailNotifications(false)
+            .build());
+        settingsService.updateSecuritySettings(active.getId(), SettingsService.SecurityPreferences.builder()
+            .twoFactorEnabled(true)
+            .sessionTimeout(60)
+            .build());
+        profileService.updateProfileVisibility(active.getId(), false);
+        userService.deleteUser(deleted.getId());
+        
+        assertTrue(statisticsCounters.isServing());
+        
+        UserService.UserStatistics stats = userService.getUserStatistics();
+        assertEquals(2, stats.getTotalUsers());
+        assertEquals(1, stats.getActiveUsers());
+        assertEquals(1, stats.getSuspendedUsers());
+        assertEquals(0, stats.getPublicProfiles());
+        assertEquals(2, stats.getPrivateProfiles());
+        assertEquals(1, stats.getUsersWithEmailNotifications());
+        assertEquals(1, stats.getUsersWithTwoFactor());
+        
+        SettingsService.SettingsAnalytics analytics = settingsService.getSettingsAnalytics();
+        assertEquals(2, analytics.getTotalSettings());
+        assertEquals(1, analytics.getLightThemeUsers());
+        assertEquals(1, analytics.getDarkThemeUsers());
+        assertEquals(2, analytics.getPushNotificationUsers());
+        assertEquals(2, analytics.getEnglishUsers());
+        
+        long before = statisticsCounters.get(StatisticsCounters.Bucket.TOTAL_USERS);
+        statisticsCounters.reconcile();
+        assertEquals(before, statisticsCounters.get(StatisticsCounters.Bucket.TOTAL_USERS));
+    }
+    
+    @Test
+    void shouldCorrectDriftFromWritesThatBypassServicesOnReconcile() {
+        User user = testUsers.create("drifted", "drifted@example.com");
+        
+        Settings settings = settingsRepository.findByUserId(user.getId()).orElseThrow();
+        settings.setTheme(Settings.Theme.AUTO);
+        settingsRepository.save(settings);
+        
+        assertEquals(0, settingsService.getSettingsAnalytics().getAutoThemeUsers());
+        
+        statisticsCounters.reconcile();
+        
+        assertEquals(1, settingsService.getSettingsAnalytics().getAutoThemeUsers());
+        assertEquals(0, settingsService.getSettingsAnalytics().getLightThemeUsers());
+    }
+    
+    @Test
+    void shouldServeSettingsAnalyticsFromCountersWithoutQueries() {
+        User first = testUsers.create("analytics1", "analytics1@example.com");
+        testUsers.create("analytics2", "analytics2@example.com");
+        settingsService.updateSettings(first.getId(), Settings.builder()
+            .languageCode("fr")
+            .timeZone("Europe/Paris")
+            .build());
+        
+        SettingsService.SettingsAnalytics analytics = transactionTemplate.execute(status ->
+            QueryCountAssertions.assertStatementCount(entityManager, 0, settingsService::getSettingsAnalytics));
+        
+        assertEquals(2, analytics.getTotalSettings());
+        assertEquals(1, analytics.getEnglishUsers());
+        assertEquals(Map.of("en", 1L, "fr", 1L), analytics.getLanguageDistribution());
+        assertEquals(Map.of("UTC", 1L, "Europe/Paris", 1L), analytics.getTimeZoneDistribution());
+        assertEquals(2, analytics.getNotificationFrequencyDistribution().values().stream()
+            .mapToLong(Long::longValue).sum());
+        
+        statisticsCounters.reconcile();
+        assertEquals(analytics, settingsService.getSettingsAnalytics());
+    }
+    
+    @Test
+    void shouldApplyCommitsThatLandDuringReconcileExactlyOnce() throws Exception {
+        long users = statisticsCounters.get(StatisticsCounters.Bucket.TOTAL_USERS);
+        CountDownLatch committed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> writer = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        committed.countDown();
+                        try {
+                            release.await(10, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                });
+                testUsers.create("reconciled", "reconciled@example.com");
+            }));
+            assertTrue(committed.await(10, TimeUnit.SECONDS));
+            
+            Future<?> reconcile = executor.submit(statisticsCounters::reconcile);
+            Thread.sleep(200);
+            assertFalse(reconcile.isDone());
+            
+            release.countDown();
+            writer.get(10, TimeUnit.SECONDS);
+            reconcile.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        assertEquals(users + 1, statisticsCounters.get(StatisticsCounters.Bucket.TOTAL_USERS));
+        assertEquals(Map.of("en", 1L), statisticsCounters.getDistribution(StatisticsCounters.Dimension.LANGUAGE));
+    }
+}
\ No newline at end of file
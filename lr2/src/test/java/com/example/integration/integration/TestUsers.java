@@ -0,0 +1,45 @@
+package com.example.integration.integration;
+
+import com.example.integration.entity.User;
+import com.example.integration.repository.ProfileRepository;
+import com.example.integration.repository.SettingsRepository;
+import com.example.integration.repository.UserRepository;
+import com.example.integration.service.UserService;
+import org.springframework.boot.test.context.TestComponent;
+
+@TestComponent
+public class TestUsers {
+    
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final ProfileRepository profileRepository;
+    private final SettingsRepository settingsRepository;
+    
+    public TestUsers(UserService userService,
+                     UserRepository userRepository,
+                     ProfileRepository profileRepository,
+                     SettingsRepository settingsRepository) {
+        this.userService = userService;
+        this.userRepository = userRepository;
+        this.profileRepository = profileRepository;
+        this.settingsRepository = settingsRepository;
+    }
+    
+    public User create(String username) {
+        return create(username, username + "@example.com");
+    }
+    
+    public User create(String username, String email) {
+        return userService.createUserWithDefaults(User.builder()
+            .username(username)
+            .email(email)
+            .password("password123")
+            .build());
+    }
+    
+    public void deleteAll() {
+        settingsRepository.deleteAll();
+        profileRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+}
\ No newline at end of file
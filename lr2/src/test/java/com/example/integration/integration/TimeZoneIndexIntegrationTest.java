@@ -0,0 +1,172 @@
+package com.example.integration.integration;
+
+import com.example.integration.entity.Settings;
+import com.example.integration.entity.User;
+import com.example.integration.index.TimeZoneIndex;
+import com.example.integration.repository.SettingsRepository;
+import com.example.integration.service.SettingsService;
+import com.example.integration.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@FeatureIntegrationTest
+public class TimeZoneIndexIntegrationTest {
+    
+    private static final Instant BEFORE_US_DST = Instant.parse("2024-03-09T14:00:00Z");
+    private static final Instant AFTER_US_DST = Instant.parse("2024-03-10T14:00:00Z");
+    
+    @Autowired
+    private TestUsers testUsers;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private TimeZoneIndex timeZoneIndex;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private SettingsService settingsService;
+    
+    @Autowired
+    private SettingsRepository settingsRepository;
+    
+    @BeforeEach
+    void setUp() {
+        testUsers.deleteAll();
+        timeZoneIndex.rebuild();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        testUsers.deleteAll();
+    }
+    
+    @Test
+    void shouldNormalizeTimeZonesOnWrite() throws Exception {
+        User user = createUser("normalized", "america/new_york");
+        
+        assertEquals("America/New_York", settingsRepository.findByUserId(user.getId()).orElseThrow().getTimeZone());
+        assertThrows(IllegalArgumentException.class, () -> settingsService.patchSettings(user.getId(),
+            Settings.builder().timeZone("Mars/Olympus_Mons").build(), List.of("timeZone")));
+        
+        mockMvc.perform(patch("/api/users/{userId}/settings", user.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"timeZone\":\"Not/AZone\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/users/{userId}/settings", user.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"timeZone\":\"EUROPE/BERLIN\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.timeZone").value("Europe/Berlin"));
+    }
+    
+    @Test
+    void shouldFindUsersByLocalTimeAcrossDaylightSavingChanges() {
+        User newYork = createUser("newyork", "America/New_York");
+        User chicago = createUser("chicago", "America/Chicago");
+        User london = createUser("london", "Europe/London");
+        User tokyo = createUser("tokyo", "Asia/Tokyo");
+        
+        assertEquals(Set.of(newYork.getId()),
+            Set.copyOf(timeZoneIndex.findUserIdsAtLocalTime(LocalTime.of(9, 0), BEFORE_US_DST)));
+        assertEquals(Set.of(chicago.getId()),
+            Set.copyOf(timeZoneIndex.findUserIdsAtLocalTime(LocalTime.of(9, 0), AFTER_US_DST)));
+        assertEquals(Set.of(newYork.getId()),
+            Set.copyOf(timeZoneIndex.findUserIdsAtLocalTime(LocalTime.of(9, 0), AFTER_US_DST.minusSeconds(3600))));
+        assertEquals(Set.of(london.getId()),
+            Set.copyOf(timeZoneIndex.findUserIdsAtLocalTime(LocalTime.of(14, 0), AFTER_US_DST)));
+        assertEquals(Set.of(tokyo.getId()),
+            Set.copyOf(timeZoneIndex.findUserIdsWithLocalTimeBetween(LocalTime.of(22, 0), LocalTime.of(1, 0), AFTER_US_DST)));
+        assertEquals(4, timeZoneIndex.countByOffset(AFTER_US_DST).values().stream().mapToInt(Integer::intValue).sum());
+    }
+    
+    @Test
+    void shouldTrackTimeZoneChangesAndDeletes() {
+        User traveller = createUser("traveller", "Europe/London");
+        User defaulted = userService.createUserWithDefaults(User.builder()
+            .username("defaulted")
+            .email("defaulted@example.com")
+            .password("password123")
+            .build());
+        assertEquals(2, timeZoneIndex.size());
+        assertEquals(Set.of(traveller.getId(), defaulted.getId()),
+            Set.copyOf(timeZoneIndex.findUserIdsAtLocalTime(LocalTime.of(14, 0), AFTER_US_DST)));
+        
+        settingsService.patchSettings(traveller.getId(),
+            Settings.builder().timeZone("Asia/Tokyo").build(), List.of("timeZone"));
+        assertEquals(List.of(defaulted.getId()), timeZoneIndex.findUserIdsAtLocalTime(LocalTime.of(14, 0), AFTER_US_DST));
+        assertEquals(List.of(traveller.getId()), timeZoneIndex.findUserIdsAtLocalTime(LocalTime.of(23, 0), AFTER_US_DST));
+        
+        userService.deleteUser(traveller.getId());
+        assertEquals(1, timeZoneIndex.size());
+        assertTrue(timeZoneIndex.findUserIdsAtLocalTime(LocalTime.of(23, 0), AFTER_US_DST).isEmpty());
+    }
+    
+    @Test
+    void shouldMatchTheDatabaseAfterRebuild() {
+        createUser("rebuild1", "Europe/Paris");
+        createUser("rebuild2", "Europe/Berlin");
+        createUser("rebuild3", "Australia/Sydney");
+        
+        timeZoneIndex.rebuild();
+        
+        assertEquals(3, timeZoneIndex.size());
+        assertEquals(2, timeZoneIndex.findUserIdsAtLocalTime(LocalTime.of(15, 0), AFTER_US_DST).size());
+        assertEquals(1, timeZoneIndex.findUserIdsAtLocalTime(LocalTime.of(1, 0), AFTER_US_DST).size());
+    }
+    
+    @Test
+    void shouldKeepEachUserInOneZoneUnderConcurrentUpdates() throws Exception {
+        List<String> zones = List.of("UTC", "Europe/Berlin", "Asia/Tokyo", "America/New_York");
+        long userId = 4242L;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int writer = 0; writer < 8; writer++) {
+                int offset = writer;
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < 2000; i++) {
+                        timeZoneIndex.update(userId, zones.get((offset + i) % zones.size()));
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        timeZoneIndex.update(userId, "Asia/Tokyo");
+        assertEquals(1, timeZoneIndex.countByOffset(BEFORE_US_DST).values().stream().mapToInt(Integer::intValue).sum());
+        assertEquals(List.of(userId), timeZoneIndex.findUserIdsAtLocalTime(LocalTime.of(23, 0), BEFORE_US_DST));
+        timeZoneIndex.remove(userId, false);
+    }
+    
+    private User createUser(String username, String timeZone) {
+        User user = testUsers.create(username);
+        settingsService.patchSettings(user.getId(), Settings.builder().timeZone(timeZone).build(), List.of("timeZone"));
+        return user;
+    }
+}
\ No newline at end of file
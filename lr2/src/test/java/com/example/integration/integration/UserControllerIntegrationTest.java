@@ -0,0 +1,123 @@
+package com.example.integration.integration;
+
+import com.example.integration.entity.Profile;
+import com.example.integration.entity.User;
+import com.example.integration.service.ProfileService;
+import com.example.integration.service.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@FeatureIntegrationTest
+public class UserControllerIntegrationTest {
+    
+    @Autowired
+    private TestUsers testUsers;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ProfileService profileService;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @BeforeEach
+    void setUp() {
+        testUsers.deleteAll();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        testUsers.deleteAll();
+    }
+    
+    @Test
+    void shouldAnswerConditionalUserReadsWithNotModifiedThroughAsyncDispatch() throws Exception {
+        User user = testUsers.create("conditional");
+        
+        MvcResult first = performAsync(get("/api/users/conditional"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(jsonPath("$.username").value("conditional"))
+                .andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        String lastModified = first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+        
+        performAsync(get("/api/users/conditional@example.com").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+        performAsync(get("/api/users/conditional").header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        
+        profileService.updateProfile(user.getId(), Profile.builder().bio("Changed").build());
+        
+        MvcResult changed = performAsync(get("/api/users/conditional").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.profile.bio").value("Changed"))
+                .andReturn();
+        assertNotEquals(eTag, changed.getResponse().getHeader(HttpHeaders.ETAG));
+        
+        performAsync(get("/api/users/missing").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotFound());
+    }
+    
+    @Test
+    void shouldStreamActiveUsersWithPublicProfilesAsNdjson() throws Exception {
+        User first = testUsers.create("streamfirst");
+        User second = testUsers.create("streamsecond");
+        User hidden = testUsers.create("streamhidden");
+        User suspended = testUsers.create("streamsuspended");
+        profileService.updateProfileVisibility(hidden.getId(), false);
+        userService.updateUserStatus(suspended.getId(), User.UserStatus.SUSPENDED);
+        
+        MvcResult result = performAsync(get("/api/users/active-public").accept("application/x-ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.parseMediaType("application/x-ndjson")))
+                .andReturn();
+        
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.endsWith("\n"));
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        assertEquals(2, lines.size());
+        assertEquals(first.getId(), lines.get(0).get("id").asLong());
+        assertEquals("streamfirst", lines.get(0).get("username").asText());
+        assertEquals(second.getId(), lines.get(1).get("id").asLong());
+        assertEquals("streamsecond", lines.get(1).get("username").asText());
+        assertEquals("ACTIVE", lines.get(1).get("status").asText());
+        assertFalse(lines.get(0).has("password"));
+    }
+    
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.example.integration.integration;
+
+import com.example.integration.cache.UserDetailsCache;
+import com.example.integration.entity.User;
+import com.example.integration.service.UserService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserDetailsCacheTest {
+    
+    private static final long USER_ID = 42L;
+    
+    @Test
+    void shouldDropPutOfDetailsLoadedBeforeInvalidation() {
+        UserDetailsCache cache = new UserDetailsCache(true, 1000, Duration.ofMinutes(5));
+        
+        Optional<UserService.UserDetails> loaded = cache.get("racer", key -> {
+            UserService.UserDetails stale = details(User.UserStatus.ACTIVE);
+            cache.invalidateUser(USER_ID);
+            return Optional.of(stale);
+        });
+        
+        assertTrue(loaded.isPresent());
+        assertTrue(cache.getIfPresent("racer").isEmpty());
+        assertEquals(1, cache.getStats().getStalePuts());
+        
+        cache.get("racer", key -> Optional.of(details(User.UserStatus.SUSPENDED)));
+        assertEquals(User.UserStatus.SUSPENDED, cache.getIfPresent("racer").orElseThrow().getStatus());
+    }
+    
+    @Test
+    void shouldNeverServeStaleDetailsAfterConcurrentWrites() throws Exception {
+        UserDetailsCache cache = new UserDetailsCache(true, 1000, Duration.ofMinutes(5));
+        AtomicReference<UserService.UserDetails> database = new AtomicReference<>(details(User.UserStatus.ACTIVE));
+        User.UserStatus[] statuses = User.UserStatus.values();
+        
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> readers = new ArrayList<>();
+        try {
+            for (int i = 0; i < 7; i++) {
+                readers.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < 20000; j++) {
+                        cache.get(j % 2 == 0 ? "racer" : "racer@example.com", key -> {
+                            UserService.UserDetails snapshot = database.get();
+                            Thread.yield();
+                            return Optional.of(snapshot);
+                        });
+                    }
+                    return null;
+                }));
+            }
+            Future<?> writer = executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < 5000; j++) {
+                    database.set(details(statuses[j % statuses.length]));
+                    cache.invalidateUser(USER_ID);
+                    cache.invalidateKeys("racer", "racer@example.com");
+                }
+                return null;
+            });
+            start.countDown();
+            writer.get(60, TimeUnit.SECONDS);
+            for (Future<?> reader : readers) {
+                reader.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        UserService.UserDetails latest = database.get();
+        cache.getIfPresent("racer").ifPresent(cached -> assertEquals(latest, cached));
+        cache.getIfPresent("racer@example.com").ifPresent(cached -> assertEquals(latest, cached));
+    }
+    
+    private static UserService.UserDetails details(User.UserStatus status) {
+        return UserService.UserDetails.builder()
+            .id(USER_ID)
+            .username("racer")
+            .email("racer@example.com")
+            .status(status)
+            .build();
+    }
+}
\ No newline at end of file
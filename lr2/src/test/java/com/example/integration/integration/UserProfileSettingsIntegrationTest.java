@@ -3,6 +3,7 @@ package com.example.integration.integration;
 import com.example.integration.entity.Profile;
 import com.example.integration.entity.Settings;
 import com.example.integration.entity.User;
+import com.example.integration.index.UserIdentityFilter;
 import com.example.integration.repository.ProfileRepository;
 import com.example.integration.repository.SettingsRepository;
 import com.example.integration.repository.UserRepository;
@@ -16,8 +17,10 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -35,6 +38,9 @@ public class UserProfileSettingsIntegrationTest {
     @Autowired
     private SettingsService settingsService;
     
+    @Autowired
+    private UserIdentityFilter userIdentityFilter;
+    
     @Autowired
     private UserRepository userRepository;
     
@@ -111,6 +117,98 @@ public class UserProfileSettingsIntegrationTest {
             () -> userService.createUserWithDefaults(duplicateEmail));
     }
     
+    @Test
+    void shouldCreateUsersInBatchWithPerRowResults() {
+        createTestUser("existing", "existing@example.com");
+        
+        List<User> batch = List.of(
+            User.builder().username("batch1").email("batch1@example.com").password("password123").build(),
+            User.builder().username("existing").email("fresh@example.com").password("password123").build(),
+            User.builder().username("batch2").email("existing@example.com").password("password123").build(),
+            User.builder().username("batch1").email("other@example.com").password("password123").build(),
+            User.builder().username("").email("invalid-email").password("123").build(),
+            User.builder().username("batch3").email("batch3@example.com").password("password123").build()
+        );
+        
+        UserService.BatchCreationResult result = userService.createUsersInBatch(batch);
+        
+        assertEquals(6, result.getRequested());
+        assertEquals(2, result.getCreated());
+        assertEquals(4, result.getFailed());
+        assertEquals(UserService.BatchRowStatus.CREATED, result.getResults().get(0).getStatus());
+        assertEquals(UserService.BatchRowStatus.DUPLICATE_USERNAME, result.getResults().get(1).getStatus());
+        assertEquals(UserService.BatchRowStatus.DUPLICATE_EMAIL, result.getResults().get(2).getStatus());
+        assertEquals(UserService.BatchRowStatus.DUPLICATE_USERNAME, result.getResults().get(3).getStatus());
+        assertEquals(UserService.BatchRowStatus.INVALID, result.getResults().get(4).getStatus());
+        assertEquals(UserService.BatchRowStatus.CREATED, result.getResults().get(5).getStatus());
+        
+        Long batchUserId = result.getResults().get(0).getUserId();
+        assertNotNull(batchUserId);
+        assertEquals("batch1", userRepository.findById(batchUserId).orElseThrow().getUsername());
+        assertTrue(profileRepository.findByUserId(batchUserId).orElseThrow().getIsPublic());
+        assertEquals(Settings.Theme.LIGHT, settingsRepository.findByUserId(batchUserId).orElseThrow().getTheme());
+        assertEquals(3, userRepository.count());
+    }
+    
+    @Test
+    void shouldKeepSequenceIdsUniqueAcrossEntityAndBulkInserts() {
+        createTestUser("pooled-before", "pooled-before@example.com");
+        
+        List<User> batch = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            batch.add(User.builder()
+                .username("pooled" + i)
+                .email("pooled" + i + "@example.com")
+                .password("password123")
+                .build());
+        }
+        assertEquals(120, userService.createUsersInBatch(batch).getCreated());
+        
+        createTestUser("pooled-after", "pooled-after@example.com");
+        
+        assertEquals(122, userRepository.findAll().stream().map(User::getId).distinct().count());
+        assertEquals(122, profileRepository.findAll().stream().map(Profile::getId).distinct().count());
+        assertEquals(122, settingsRepository.findAll().stream().map(Settings::getId).distinct().count());
+    }
+    
+    @Test
+    void shouldSkipExistenceQueriesForFreshIdentitiesAndStillRejectDuplicates() {
+        userIdentityFilter.rebuild();
+        UserIdentityFilter.FilterStats before = userIdentityFilter.getStats();
+        
+        createTestUser("filtered", "filtered@example.com");
+        
+        UserIdentityFilter.FilterStats afterCreate = userIdentityFilter.getStats();
+        assertTrue(afterCreate.isReady());
+        assertTrue(afterCreate.getNegatives() > before.getNegatives());
+        
+        User duplicate = User.builder()
+            .username("filtered")
+            .email("other@example.com")
+            .password("password123")
+            .build();
+        
+        assertThrows(IllegalArgumentException.class, () -> userService.createUserWithDefaults(duplicate));
+        assertEquals(afterCreate.getConfirmedHits() + 1, userIdentityFilter.getStats().getConfirmedHits());
+    }
+    
+    @Test
+    void shouldKeepIdentitiesFromOpenTransactionsAcrossRebuild() {
+        createTestUser("inflight", "inflight@example.com");
+        
+        CompletableFuture.runAsync(userIdentityFilter::rebuild).join();
+        
+        UserIdentityFilter.FilterStats afterRebuild = userIdentityFilter.getStats();
+        User duplicate = User.builder()
+            .username("inflight")
+            .email("inflight-other@example.com")
+            .password("password123")
+            .build();
+        
+        assertThrows(IllegalArgumentException.class, () -> userService.createUserWithDefaults(duplicate));
+        assertEquals(afterRebuild.getConfirmedHits() + 1, userIdentityFilter.getStats().getConfirmedHits());
+    }
+    
     @Test
     void shouldUpdateUserStatusWithCascadeEffects() {
         User user = User.builder()
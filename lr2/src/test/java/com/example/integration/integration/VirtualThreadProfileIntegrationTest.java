@@ -0,0 +1,101 @@
+package com.example.integration.integration;
+
+import com.example.integration.concurrency.VirtualThreads;
+import com.example.integration.controller.AsyncRequestExecutor;
+import com.example.integration.entity.User;
+import com.example.integration.service.UserService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "app.web.async.enabled=true")
+@ActiveProfiles({"test", "virtual-threads"})
+@Import(TestUsers.class)
+public class VirtualThreadProfileIntegrationTest {
+    
+    @Autowired
+    private TestUsers testUsers;
+    
+    @Autowired
+    private AsyncRequestExecutor asyncRequestExecutor;
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @Autowired
+    private UserService userService;
+    
+    @BeforeEach
+    void setUp() {
+        testUsers.deleteAll();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        testUsers.deleteAll();
+    }
+    
+    @Test
+    void shouldSizeConnectionPoolSeparatelyFromRequestConcurrency() throws Exception {
+        AsyncRequestExecutor.ExecutorStats stats = asyncRequestExecutor.getStats();
+        
+        assertEquals(VirtualThreads.isSupported(), stats.isVirtualThreads());
+        assertEquals(VirtualThreads.isSupported() ? 10000 : 10, stats.getPoolSize());
+        assertEquals(20, dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize());
+    }
+    
+    @Test
+    void shouldRunTransactionalServiceCallsOnRequestExecutorThreads() throws Exception {
+        userService.createUserWithDefaults(User.builder()
+            .username("virtualuser")
+            .email("virtualuser@example.com")
+            .password("password123")
+            .build());
+        
+        List<CompletableFuture<ResponseEntity<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            responses.add(asyncRequestExecutor.submit(() -> ResponseEntity.ok(
+                userService.findUserDetails("virtualuser").orElseThrow().getUsername() + "@" + describeCurrentThread())));
+        }
+        
+        for (CompletableFuture<ResponseEntity<String>> response : responses) {
+            String body = response.get(30, TimeUnit.SECONDS).getBody();
+            assertNotNull(body);
+            assertTrue(body.startsWith("virtualuser@request-executor-"), body);
+            assertEquals(VirtualThreads.isSupported(), body.endsWith(":virtual"), body);
+        }
+    }
+    
+    @Test
+    void shouldRefuseVirtualThreadFactoryOnUnsupportedRuntime() {
+        if (VirtualThreads.isSupported()) {
+            assertNotNull(VirtualThreads.threadFactory("probe-").newThread(() -> { }));
+        } else {
+            assertThrows(IllegalStateException.class, () -> VirtualThreads.threadFactory("probe-"));
+        }
+    }
+    
+    private static String describeCurrentThread() {
+        Thread thread = Thread.currentThread();
+        try {
+            boolean virtual = (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+            return thread.getName() + (virtual ? ":virtual" : ":platform");
+        } catch (ReflectiveOperationException e) {
+            return thread.getName() + ":platform";
+        }
+    }
+}
\ No newline at end of file